@@ -0,0 +1,21 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.engine.Position;
+import com.tictactoe.model.AgentThoughts;
+import com.tictactoe.model.MoveBudget;
+import com.tictactoe.model.Verbosity;
+
+import java.util.SplittableRandom;
+
+public interface AIStrategy {
+
+    String getName();
+
+    // Picks a move for player on a position that still has at least one empty cell. When the
+    // budget runs out the best move found so far is returned. verbosity decides how much of
+    // the reasoning is written out; nothing is formatted that will not be returned. Every
+    // random choice is drawn from random, so the same position, budget and random stream
+    // give the same move.
+    AgentThoughts chooseMove(Position position, int player, MoveBudget budget, Verbosity verbosity,
+                             SplittableRandom random);
+}
@@ -0,0 +1,122 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Offline solver for EndgameTable. Runs a full negamax over every position reachable from
+ * the empty board, memoised by base-3 index, preferring the fastest win and the slowest
+ * loss. Games end on a win, a full board or when neither player can still win, the same
+ * rules the server applies.
+ *
+ * Usage: EndgameSolver <outputDir> [boardSize:winLength ...]
+ */
+public class EndgameSolver {
+
+    private static final String[] DEFAULT_CONFIGS = {"3:3", "4:3", "4:4"};
+    private static final byte UNSOLVED = Byte.MIN_VALUE;
+    // Score of a win on the next ply; each further ply costs one point
+    private static final int WIN_SCORE = 100;
+
+    private final Position position;
+    private final int cells;
+    private final int[] pow3;
+    private final byte[] scores;
+    private final byte[] entries;
+    private long solved;
+
+    private EndgameSolver(int boardSize, int winLength) {
+        this.cells = boardSize * boardSize;
+        this.position = new Position(PatternTable.of(boardSize, winLength), new BitBoard(cells));
+        this.pow3 = new int[cells + 1];
+        for (int i = 0; i <= cells; i++) {
+            pow3[i] = EndgameTable.pow3(i);
+        }
+        this.scores = new byte[pow3[cells]];
+        this.entries = new byte[pow3[cells]];
+        Arrays.fill(scores, UNSOLVED);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: EndgameSolver <outputDir> [boardSize:winLength ...]");
+            System.exit(1);
+        }
+        Path dir = Paths.get(args[0]);
+        Files.createDirectories(dir);
+        String[] specs = args.length > 1 ? Arrays.copyOfRange(args, 1, args.length) : DEFAULT_CONFIGS;
+        for (String spec : specs) {
+            String[] parts = spec.split(":");
+            int boardSize = Integer.parseInt(parts[0]);
+            int winLength = Integer.parseInt(parts[1]);
+            if (boardSize * boardSize > EndgameTable.MAX_CELLS) {
+                System.err.println("Skipping " + spec + ": more than " + EndgameTable.MAX_CELLS + " cells");
+                continue;
+            }
+            long start = System.nanoTime();
+            EndgameSolver solver = new EndgameSolver(boardSize, winLength);
+            int score = solver.solve(BitBoard.X, 0);
+            Path file = dir.resolve(EndgameTable.fileName(boardSize, winLength));
+            solver.write(file, boardSize, winLength);
+            System.out.printf("%dx%d win %d: %s for X, %d positions in %d ms -> %s%n",
+                boardSize, boardSize, winLength, describe(score), solver.solved,
+                (System.nanoTime() - start) / 1_000_000, file);
+        }
+    }
+
+    // Score for the side to move: WIN_SCORE - plies for a win, the negation for a loss, 0 for a draw
+    private int solve(int player, int index) {
+        if (scores[index] != UNSOLVED) {
+            return scores[index];
+        }
+        BitBoard board = position.getBoard();
+        int best = Integer.MIN_VALUE;
+        int bestMove = -1;
+        for (int pos = board.nextEmpty(0); pos != -1; pos = board.nextEmpty(pos + 1)) {
+            int score;
+            if (position.play(player, pos) != -1) {
+                score = WIN_SCORE - 1;
+            } else if (position.getCounters().isFull() || !position.getCounters().isWinnable()) {
+                score = 0;
+            } else {
+                int child = -solve(BitBoard.opponent(player), index + (player + 1) * pow3[pos]);
+                score = child > 0 ? child - 1 : child < 0 ? child + 1 : 0;
+            }
+            position.undo(player, pos);
+            if (score > best) {
+                best = score;
+                bestMove = pos;
+            }
+        }
+        int result = best > 0 ? EndgameTable.WIN : best < 0 ? EndgameTable.LOSS : EndgameTable.DRAW;
+        scores[index] = (byte) best;
+        entries[index] = (byte) EndgameTable.entry(result, bestMove);
+        solved++;
+        return best;
+    }
+
+    private void write(Path file, int boardSize, int winLength) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(EndgameTable.MAGIC);
+            out.writeInt(EndgameTable.VERSION);
+            out.writeInt(boardSize);
+            out.writeInt(winLength);
+            out.write(entries);
+        }
+    }
+
+    private static String describe(int score) {
+        if (score > 0) return "win in " + (WIN_SCORE - score);
+        if (score < 0) return "loss in " + (WIN_SCORE + score);
+        return "draw";
+    }
+}
@@ -0,0 +1,121 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Perfect-play tables for boards small enough to solve outright, written by EndgameSolver
+ * and memory-mapped read-only at startup. Every position has one byte at its base-3 index
+ * (cell i contributes 0, 1 or 2 for empty, X or O times 3^i): the low two bits hold the
+ * result for the side to move and the rest the best move. X always moves first, so the
+ * side to move follows from the stone count.
+ */
+@Component
+public class EndgameTable {
+    static final int MAGIC = 0x54545445;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 16;
+    // 3^16 entries is the largest table worth keeping on disk
+    static final int MAX_CELLS = 16;
+
+    public static final int UNKNOWN = 0;
+    public static final int WIN = 1;
+    public static final int DRAW = 2;
+    public static final int LOSS = 3;
+
+    private static final int MAX_SIZE = 5;
+    private static final Logger log = LoggerFactory.getLogger(EndgameTable.class);
+
+    // Indexed by boardSize * MAX_SIZE + winLength
+    private final MappedByteBuffer[] tables = new MappedByteBuffer[MAX_SIZE * MAX_SIZE];
+
+    public EndgameTable(@Value("${tictactoe.ai.endgame.dir:endgame}") String dir) {
+        Path path = Paths.get(dir);
+        if (!Files.isDirectory(path)) {
+            log.info("No endgame tables in {}, small boards will be searched", path.toAbsolutePath());
+            return;
+        }
+        for (int boardSize = 3; boardSize < MAX_SIZE; boardSize++) {
+            for (int winLength = 3; winLength <= boardSize; winLength++) {
+                Path file = path.resolve(fileName(boardSize, winLength));
+                if (Files.exists(file)) {
+                    tables[boardSize * MAX_SIZE + winLength] = map(file, boardSize, winLength);
+                }
+            }
+        }
+    }
+
+    public static EndgameTable empty() {
+        return new EndgameTable("");
+    }
+
+    static String fileName(int boardSize, int winLength) {
+        return "endgame-" + boardSize + "x" + boardSize + "-" + winLength + ".bin";
+    }
+
+    private static MappedByteBuffer map(Path file, int boardSize, int winLength) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() != HEADER_BYTES + pow3(boardSize * boardSize)
+                || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                || buffer.getInt(8) != boardSize || buffer.getInt(12) != winLength) {
+                log.warn("Ignoring endgame table {}: unexpected header or size", file);
+                return null;
+            }
+            log.info("Mapped endgame table {} ({} KB)", file, buffer.limit() >> 10);
+            return buffer;
+        } catch (IOException e) {
+            log.warn("Could not map endgame table {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    // Table entry for the position, or 0 when no table covers it
+    public int probe(Position position, int player) {
+        int boardSize = position.getBoardSize();
+        if (boardSize >= MAX_SIZE) {
+            return 0;
+        }
+        ByteBuffer table = tables[boardSize * MAX_SIZE + position.getWinLength()];
+        if (table == null || player != (position.getCounters().getStones() & 1)) {
+            return 0;
+        }
+        return table.get(HEADER_BYTES + index(position.getBoard())) & 0xFF;
+    }
+
+    public static int result(int entry) { return entry & 0x3; }
+    public static int move(int entry) { return entry >>> 2; }
+
+    static int entry(int result, int move) {
+        return move << 2 | result;
+    }
+
+    static int index(BitBoard board) {
+        int index = 0;
+        for (int pos = board.getCells() - 1; pos >= 0; pos--) {
+            index = index * 3 + board.owner(pos) + 1;
+        }
+        return index;
+    }
+
+    static int pow3(int n) {
+        int value = 1;
+        for (int i = 0; i < n; i++) {
+            value *= 3;
+        }
+        return value;
+    }
+}
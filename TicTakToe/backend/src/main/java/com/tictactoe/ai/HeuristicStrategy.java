@@ -0,0 +1,361 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.ai.MoveStats.Phase;
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.IntList;
+import com.tictactoe.engine.LineCounters;
+import com.tictactoe.engine.LineShapes;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
+import com.tictactoe.model.AgentThoughts;
+import com.tictactoe.model.MoveBudget;
+import com.tictactoe.model.Verbosity;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+// Fixed priority cascade: win, block, fork, block fork, then strategic scoring
+@Component
+public class HeuristicStrategy implements AIStrategy {
+
+    public static final String NAME = "heuristic";
+
+    // Move and score buffers reused by every move computed on the same thread
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public AgentThoughts chooseMove(Position position, int me, MoveBudget budget, Verbosity verbosity,
+                                    SplittableRandom random) {
+        Scratch scratch = SCRATCH.get();
+        scratch.ensure(position.getCellCount());
+        scratch.random = random;
+        long start = System.nanoTime();
+        scratch.startBudget(budget, start);
+        AgentThoughts thoughts = decide(position, me, verbosity, scratch);
+        thoughts.recordBudget(budget, System.nanoTime() - start, scratch.nodes, scratch.exhausted);
+        return thoughts;
+    }
+
+    // Reasons are fixed labels, so below FULL no strings are built at all
+    private AgentThoughts decide(Position position, int me, Verbosity verbosity, Scratch scratch) {
+        AgentThoughts thoughts = new AgentThoughts(verbosity);
+        boolean full = thoughts.isFull();
+        int them = BitBoard.opponent(me);
+        String opponent = BitBoard.symbol(them);
+        int boardSize = position.getBoardSize();
+
+        String personality = me == BitBoard.X ? "Aggressive" : "Cautious";
+        double randomFactor = me == BitBoard.X ? 20 : 15;
+        IntList moves = scratch.moves;
+        MoveStats stats = scratch.stats;
+        stats.reset();
+        long start = System.nanoTime();
+
+        if (full) {
+            thoughts.addThought("Analyzing " + boardSize + "x" + boardSize + " board (" + personality + " mode)...", "");
+        }
+
+        // Check if game is still winnable
+        boolean winnable = position.getCounters().isWinnable();
+        start = stats.phase(Phase.WINNABLE_CHECK, start);
+        if (!winnable) {
+            stats.decide(Phase.WINNABLE_CHECK);
+            if (full) {
+                thoughts.addThought("Board analysis: NO WINNING PATHS LEFT", "block");
+            }
+            thoughts.setChosenMove(getFirstAvailableMove(position.getBoard()));
+            thoughts.setReason("NO WINS POSSIBLE");
+            return thoughts;
+        }
+
+        // Step 1: Check if I can win
+        int winningMoves = findWinningMoves(position, me, moves, scratch.seen, stats);
+        start = stats.phase(Phase.WIN_SEARCH, start);
+        if (winningMoves > 0) {
+            stats.decide(Phase.WIN_SEARCH);
+            int move = moves.get(scratch.random.nextInt(winningMoves));
+            if (full) {
+                thoughts.addThought("Found winning move at " + positionName(boardSize, move) + "!", "win");
+            }
+            thoughts.setChosenMove(move);
+            thoughts.setReason("WINNING MOVE");
+            return thoughts;
+        }
+        if (full) {
+            thoughts.addThought("No immediate win available", "");
+        }
+
+        // Step 2: Check if opponent can win - MUST BLOCK
+        int threats = findWinningMoves(position, them, moves, scratch.seen, stats);
+        start = stats.phase(Phase.THREAT_SEARCH, start);
+        if (threats > 0) {
+            stats.decide(Phase.THREAT_SEARCH);
+            int threat = moves.get(scratch.random.nextInt(threats));
+            if (full) {
+                thoughts.addThought("DANGER! " + opponent + " can win at " + positionName(boardSize, threat), "block");
+                thoughts.addThought("Must block immediately!", "block");
+                if (threats > 1) {
+                    thoughts.addThought(threats + " threats detected! Trouble...", "block");
+                }
+            }
+            thoughts.setChosenMove(threat);
+            thoughts.setReason("BLOCKING THREAT");
+            return thoughts;
+        }
+        if (full) {
+            thoughts.addThought("No immediate threats from " + opponent, "");
+        }
+
+        // Step 3: Find forks
+        int forkMoves = findForkMoves(position, me, moves, scratch);
+        start = stats.phase(Phase.FORK_SEARCH, start);
+        if (forkMoves > 0) {
+            stats.decide(Phase.FORK_SEARCH);
+            int move = moves.get(scratch.random.nextInt(forkMoves));
+            if (full) {
+                thoughts.addThought("Creating fork with multiple win paths!", "strategy");
+            }
+            thoughts.setChosenMove(move);
+            thoughts.setReason("Creating fork!");
+            return thoughts;
+        }
+
+        // Step 4: Block opponent forks
+        int opponentForks = findForkMoves(position, them, moves, scratch);
+        start = stats.phase(Phase.FORK_BLOCK, start);
+        if (opponentForks > 0) {
+            stats.decide(Phase.FORK_BLOCK);
+            int move = moves.get(scratch.random.nextInt(opponentForks));
+            if (full) {
+                thoughts.addThought("Blocking opponent fork!", "strategy");
+            }
+            thoughts.setChosenMove(move);
+            thoughts.setReason("Blocking opponent fork!");
+            return thoughts;
+        }
+
+        // Step 5: Strategic move
+        int strategicMove = findStrategicMove(position, me, randomFactor, scratch);
+        stats.phase(Phase.STRATEGIC, start);
+        stats.decide(Phase.STRATEGIC);
+        String reason = positionReason(boardSize, strategicMove);
+        if (full) {
+            if (scratch.exhausted) {
+                thoughts.addThought("Budget used up after " + scratch.nodes + " positions, playing the best so far", "");
+            }
+            thoughts.addThought(reason, "strategy");
+        }
+        thoughts.setChosenMove(strategicMove);
+        thoughts.setReason(reason);
+        return thoughts;
+    }
+
+    // Fills out with each distinct cell that completes a pattern for player and returns the count
+    private int findWinningMoves(Position position, int player, IntList out, long[] seen, MoveStats stats) {
+        out.clear();
+        LineCounters counters = position.getCounters();
+        if (counters.threats(player) == 0) {
+            return 0;
+        }
+        PatternTable patterns = position.getTable();
+        long[] patternMasks = patterns.masks();
+        BitBoard board = position.getBoard();
+        int winLength = patterns.getWinLength();
+        int opponent = BitBoard.opponent(player);
+        stats.addPatterns(patterns.getPatternCount());
+
+        for (int p = 0, n = patterns.getPatternCount(); p < n; p++) {
+            if (counters.count(player, p) == winLength - 1 && counters.count(opponent, p) == 0) {
+                int emptyPos = board.firstEmpty(patternMasks, patterns.maskOffset(p));
+                if (!BitBoard.testBit(seen, 0, emptyPos)) {
+                    BitBoard.setBit(seen, 0, emptyPos);
+                    out.add(emptyPos);
+                }
+            }
+        }
+        for (int i = 0; i < out.size(); i++) {
+            seen[out.get(i) >>> 6] = 0;
+        }
+        return out.size();
+    }
+
+    // Only called when player has no immediate win, so any winning cell created by a
+    // move lies on a pattern through that move. Stops early, keeping the forks found so far,
+    // once the move budget is spent.
+    private int findForkMoves(Position position, int player, IntList out, Scratch scratch) {
+        MoveStats stats = scratch.stats;
+        PatternTable patterns = position.getTable();
+        LineCounters counters = position.getCounters();
+        BitBoard board = position.getBoard();
+        int winLength = patterns.getWinLength();
+        int opponent = BitBoard.opponent(player);
+
+        out.clear();
+        for (int pos = position.nextCandidate(0); pos != -1 && scratch.spend(); pos = position.nextCandidate(pos + 1)) {
+            stats.addPatterns(patterns.patternsEnd(pos) - patterns.patternsStart(pos));
+            stats.addPositions(1);
+            position.play(player, pos);
+            int firstWin = -1;
+            boolean fork = false;
+            for (int i = patterns.patternsStart(pos), end = patterns.patternsEnd(pos); i < end && !fork; i++) {
+                int p = patterns.patternAt(i);
+                if (counters.count(player, p) == winLength - 1 && counters.count(opponent, p) == 0) {
+                    int winPos = board.firstEmpty(patterns.masks(), patterns.maskOffset(p));
+                    if (firstWin == -1) {
+                        firstWin = winPos;
+                    } else if (winPos != firstWin) {
+                        fork = true;
+                    }
+                }
+            }
+            position.undo(player, pos);
+
+            if (fork) {
+                out.add(pos);
+            }
+        }
+        return out.size();
+    }
+
+    private int findStrategicMove(Position position, int player, double randomFactor, Scratch scratch) {
+        PatternTable patterns = position.getTable();
+        double[] scores = scratch.scores;
+        IntList topMoves = scratch.moves;
+
+        // Score each position. Once the budget is spent the remaining cells are ranked by the
+        // center bonus alone, which costs nothing, so an earlier phase that used up the budget
+        // still leaves a central move rather than the first candidate.
+        double maxScore = Double.NEGATIVE_INFINITY;
+        int boardSize = position.getBoardSize();
+        for (int pos = position.nextCandidate(0); pos != -1; pos = position.nextCandidate(pos + 1)) {
+            double score;
+            if (scratch.spend()) {
+                score = evaluatePosition(position, pos, player);
+                scratch.stats.addPatterns(patterns.patternsEnd(pos) - patterns.patternsStart(pos));
+                scratch.stats.addPositions(1);
+            } else {
+                score = centerBonus(boardSize, pos);
+            }
+            score += scratch.random.nextDouble() * randomFactor;
+            scores[pos] = score;
+            if (score > maxScore) {
+                maxScore = score;
+            }
+        }
+
+        // Get top moves
+        double threshold = maxScore * 0.85;
+        topMoves.clear();
+        for (int pos = position.nextCandidate(0); pos != -1; pos = position.nextCandidate(pos + 1)) {
+            if (scores[pos] >= threshold) {
+                topMoves.add(pos);
+            }
+        }
+
+        return topMoves.get(scratch.random.nextInt(topMoves.size()));
+    }
+
+    double evaluatePosition(Position position, int pos, int player) {
+        PatternTable patterns = position.getTable();
+        LineCounters counters = position.getCounters();
+        double score = 0;
+        int opponent = BitBoard.opponent(player);
+        int boardSize = position.getBoardSize();
+
+        LineShapes shapes = position.getShapes();
+        if (shapes != null) {
+            // The threats a stone here makes, plus the ones it takes from the opponent
+            score += shapes.score(player, pos) + shapes.score(opponent, pos);
+        } else {
+            // Only the patterns through pos matter
+            for (int i = patterns.patternsStart(pos), end = patterns.patternsEnd(pos); i < end; i++) {
+                int p = patterns.patternAt(i);
+                if (counters.count(opponent, p) == 0) {
+                    score += Math.pow(10, counters.count(player, p));
+                }
+            }
+        }
+
+        return score + centerBonus(boardSize, pos);
+    }
+
+    static int centerBonus(int boardSize, int pos) {
+        int centerRow = boardSize / 2;
+        int centerCol = boardSize / 2;
+        int row = pos / boardSize;
+        int col = pos % boardSize;
+        int distFromCenter = Math.abs(row - centerRow) + Math.abs(col - centerCol);
+        return (boardSize - distFromCenter) * 2;
+    }
+
+    static int getFirstAvailableMove(BitBoard board) {
+        int pos = board.nextEmpty(0);
+        return pos == -1 ? 0 : pos;
+    }
+
+    static String positionName(int boardSize, int pos) {
+        int row = pos / boardSize;
+        int col = pos % boardSize;
+        return "(" + (row + 1) + ", " + (col + 1) + ")";
+    }
+
+    static String positionReason(int boardSize, int pos) {
+        int row = pos / boardSize;
+        int col = pos % boardSize;
+        boolean isCenter = row == boardSize / 2 && col == boardSize / 2;
+        boolean isCorner = (row == 0 || row == boardSize - 1) && (col == 0 || col == boardSize - 1);
+
+        if (isCenter) return "Taking center - strongest position";
+        if (isCorner) return "Taking corner - good control";
+        return "Strategic position";
+    }
+
+    private static final class Scratch {
+        final IntList moves = new IntList();
+        // Indexed by cell
+        double[] scores = new double[0];
+        long[] seen = new long[0];
+        final MoveStats stats = MoveStats.current();
+        // Source of every random choice in the move in progress
+        SplittableRandom random;
+        // Budget of the move in progress; nodes are candidate positions examined
+        long deadline;
+        long nodeLimit;
+        long nodes;
+        boolean exhausted;
+
+        void ensure(int cells) {
+            if (scores.length < cells) {
+                scores = new double[cells];
+                seen = new long[BitBoard.wordsFor(cells)];
+            }
+        }
+
+        void startBudget(MoveBudget budget, long now) {
+            deadline = budget.hasTimeLimit() ? budget.stopAt(now, budget.getTimeMs() * 1_000_000)
+                : budget.hasDeadline() ? budget.getDeadline()
+                : Long.MAX_VALUE;
+            nodeLimit = budget.hasNodeLimit() ? budget.getNodes() : Long.MAX_VALUE;
+            nodes = 0;
+            exhausted = false;
+        }
+
+        // Counts one more position, or returns false once the budget is gone
+        boolean spend() {
+            if (exhausted) {
+                return false;
+            }
+            if (nodes >= nodeLimit || (deadline != Long.MAX_VALUE && System.nanoTime() - deadline > 0)) {
+                exhausted = true;
+                return false;
+            }
+            nodes++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.tictactoe.ai;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread record of what the last chooseMove call on this thread did: time spent in
+ * each decision phase, the phase that produced the move and how much work it took.
+ * Strategies only write plain fields here; callers that publish metrics read it right
+ * after chooseMove returns on the same thread.
+ */
+public final class MoveStats {
+
+    public enum Phase {
+        WINNABLE_CHECK("winnable_check"),
+        WIN_SEARCH("win_search"),
+        THREAT_SEARCH("threat_search"),
+        FORK_SEARCH("fork_search"),
+        FORK_BLOCK("fork_block"),
+        STRATEGIC("strategic"),
+        ENDGAME_TABLE("endgame_table"),
+        OPENING_BOOK("opening_book"),
+        SEARCH("search");
+
+        private final String tag;
+
+        Phase(String tag) {
+            this.tag = tag;
+        }
+
+        public String getTag() { return tag; }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<MoveStats> CURRENT = ThreadLocal.withInitial(MoveStats::new);
+
+    // -1 for phases the last move did not reach
+    private final long[] phaseNanos = new long[PHASES.length];
+    private Phase decidedBy;
+    private long patternsScanned;
+    private long positionsEvaluated;
+
+    private MoveStats() {
+        reset();
+    }
+
+    public static MoveStats current() {
+        return CURRENT.get();
+    }
+
+    void reset() {
+        Arrays.fill(phaseNanos, -1);
+        decidedBy = null;
+        patternsScanned = 0;
+        positionsEvaluated = 0;
+    }
+
+    // Records phase as finished now and returns the time for the next phase to start from
+    long phase(Phase phase, long startNanos) {
+        long now = System.nanoTime();
+        phaseNanos[phase.ordinal()] = now - startNanos;
+        return now;
+    }
+
+    void decide(Phase phase) { this.decidedBy = phase; }
+    void addPatterns(long patterns) { this.patternsScanned += patterns; }
+    void addPositions(long positions) { this.positionsEvaluated += positions; }
+
+    public static Phase[] phases() { return PHASES; }
+
+    public long getPhaseNanos(Phase phase) { return phaseNanos[phase.ordinal()]; }
+    public Phase getDecidedBy() { return decidedBy; }
+    public long getPatternsScanned() { return patternsScanned; }
+    public long getPositionsEvaluated() { return positionsEvaluated; }
+}
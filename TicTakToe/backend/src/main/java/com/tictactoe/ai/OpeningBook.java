@@ -0,0 +1,140 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.Position;
+import com.tictactoe.engine.Symmetry;
+import com.tictactoe.engine.Zobrist;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Precomputed best moves for the first plies of common configurations, keyed by the
+ * canonical (symmetry-reduced) position hash. Built offline by OpeningBookGenerator and
+ * loaded from the classpath at startup.
+ */
+@Component
+public class OpeningBook {
+    public static final String RESOURCE = "/book/openings.bin";
+
+    static final int MAGIC = 0x54545442;
+    static final int VERSION = 1;
+    private static final int MAX_SIZE = 64;
+
+    private static final Logger log = LoggerFactory.getLogger(OpeningBook.class);
+
+    // Open addressing, key 0 marks a free slot
+    private final long[] keys;
+    private final short[] moves;
+    private final int mask;
+    private final int size;
+    // Deepest ply covered per (boardSize, winLength), -1 when not covered
+    private final int[] maxPly = new int[MAX_SIZE * MAX_SIZE];
+
+    public OpeningBook() {
+        this(OpeningBook.class.getResourceAsStream(RESOURCE));
+    }
+
+    private OpeningBook(InputStream resource) {
+        Arrays.fill(maxPly, -1);
+        long[] entryKeys = new long[0];
+        short[] entryMoves = new short[0];
+        if (resource == null) {
+            log.info("No opening book at {}, AI will search every move", RESOURCE);
+        } else {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(resource))) {
+                if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                    throw new IOException("not an opening book");
+                }
+                int configs = in.readInt();
+                for (int i = 0; i < configs; i++) {
+                    int boardSize = in.readInt();
+                    int winLength = in.readInt();
+                    maxPly[boardSize * MAX_SIZE + winLength] = in.readInt();
+                }
+                int entries = in.readInt();
+                entryKeys = new long[entries];
+                entryMoves = new short[entries];
+                for (int i = 0; i < entries; i++) {
+                    entryKeys[i] = in.readLong();
+                    entryMoves[i] = in.readShort();
+                }
+                log.info("Loaded opening book with {} positions", entries);
+            } catch (IOException e) {
+                log.warn("Could not read opening book {}: {}", RESOURCE, e.getMessage());
+                Arrays.fill(maxPly, -1);
+                entryKeys = new long[0];
+                entryMoves = new short[0];
+            }
+        }
+
+        int capacity = Integer.highestOneBit(Math.max(1, entryKeys.length) * 2) * 2;
+        this.keys = new long[capacity];
+        this.moves = new short[capacity];
+        this.mask = capacity - 1;
+        this.size = entryKeys.length;
+        for (int i = 0; i < entryKeys.length; i++) {
+            int slot = (int) entryKeys[i] & mask;
+            while (keys[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = entryKeys[i];
+            moves[slot] = entryMoves[i];
+        }
+    }
+
+    public static OpeningBook empty() {
+        return new OpeningBook(null);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // Book move for player, or -1 when the position is not covered
+    public int lookup(Position position, int player) {
+        int boardSize = position.getBoardSize();
+        int winLength = position.getWinLength();
+        if (boardSize >= MAX_SIZE || position.getCounters().getStones() > maxPly[boardSize * MAX_SIZE + winLength]) {
+            return -1;
+        }
+        Symmetry symmetry = Symmetry.of(boardSize);
+        BitBoard board = position.getBoard();
+        int transform = symmetry.canonicalTransform(board, winLength);
+        long key = key(symmetry.hash(board, winLength, transform), player);
+        for (int slot = (int) key & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return symmetry.invert(transform, moves[slot]);
+            }
+        }
+        return -1;
+    }
+
+    static long key(long canonicalHash, int player) {
+        long key = canonicalHash ^ Zobrist.side(player);
+        return key == 0 ? 1 : key;
+    }
+
+    // configs holds {boardSize, winLength, maxPly} triples
+    static void write(OutputStream out, int[][] configs, long[] entryKeys, short[] entryMoves, int entries)
+            throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(configs.length);
+        for (int[] config : configs) {
+            data.writeInt(config[0]);
+            data.writeInt(config[1]);
+            data.writeInt(config[2]);
+        }
+        data.writeInt(entries);
+        for (int i = 0; i < entries; i++) {
+            data.writeLong(entryKeys[i]);
+            data.writeShort(entryMoves[i]);
+        }
+        data.flush();
+    }
+}
@@ -0,0 +1,107 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
+import com.tictactoe.engine.Symmetry;
+import com.tictactoe.model.MoveBudget;
+import com.tictactoe.model.Verbosity;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.*;
+
+/**
+ * Offline builder for the opening book. Walks every position reachable in the first plies
+ * of each configuration, one representative per symmetry class, and stores the search
+ * result for the side to move.
+ *
+ * Usage: OpeningBookGenerator <output> [timeMs] [boardSize:winLength:plies ...]
+ */
+public class OpeningBookGenerator {
+
+    // Fixed so that rebuilding the book with the same arguments gives the same book
+    private static final long SEED = 0x0B00CL;
+
+    private static final String[] DEFAULT_CONFIGS = {
+        "3:3:8", "4:3:3", "4:4:3", "5:4:2", "6:4:1", "6:5:1", "7:4:1", "7:5:1", "10:4:1", "10:5:1"
+    };
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: OpeningBookGenerator <output> [timeMs] [boardSize:winLength:plies ...]");
+            System.exit(1);
+        }
+        long timeMs = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        String[] specs = args.length > 2 ? Arrays.copyOfRange(args, 2, args.length) : DEFAULT_CONFIGS;
+
+        SearchStrategy search = new SearchStrategy(timeMs, 256, 0, 0, OpeningBook.empty(), EndgameTable.empty());
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[][] configs = new int[specs.length][];
+        long[] keys = new long[1024];
+        short[] moves = new short[1024];
+        int entries = 0;
+
+        for (int c = 0; c < specs.length; c++) {
+            String[] parts = specs[c].split(":");
+            int boardSize = Integer.parseInt(parts[0]);
+            int winLength = Integer.parseInt(parts[1]);
+            int plies = Integer.parseInt(parts[2]);
+            configs[c] = new int[]{boardSize, winLength, plies};
+            Symmetry symmetry = Symmetry.of(boardSize);
+            PatternTable patterns = PatternTable.of(boardSize, winLength);
+
+            // Canonical positions for the current ply, keyed by canonical hash
+            Map<Long, BitBoard> frontier = new LinkedHashMap<>();
+            frontier.put(symmetry.hash(new BitBoard(boardSize * boardSize), winLength, 0),
+                new BitBoard(boardSize * boardSize));
+            for (int ply = 0; ply <= plies && !frontier.isEmpty(); ply++) {
+                int player = ply & 1;
+                Map<Long, BitBoard> next = new LinkedHashMap<>();
+                for (Map.Entry<Long, BitBoard> entry : frontier.entrySet()) {
+                    Position position = new Position(patterns, entry.getValue());
+                    int move = search.chooseMove(position, player, MoveBudget.DEFAULT, Verbosity.NONE, random)
+                        .getChosenMove();
+                    if (entries == keys.length) {
+                        keys = Arrays.copyOf(keys, entries * 2);
+                        moves = Arrays.copyOf(moves, entries * 2);
+                    }
+                    keys[entries] = OpeningBook.key(entry.getKey(), player);
+                    moves[entries] = (short) move;
+                    entries++;
+
+                    if (ply < plies) {
+                        expand(position, player, symmetry, next);
+                    }
+                }
+                System.out.printf("%dx%d win %d, ply %d: %d positions%n",
+                    boardSize, boardSize, winLength, ply, frontier.size());
+                frontier = next;
+            }
+        }
+
+        search.shutdown();
+        try (OutputStream out = new FileOutputStream(args[0])) {
+            OpeningBook.write(out, configs, keys, moves, entries);
+        }
+        System.out.printf("Wrote %d positions to %s%n", entries, args[0]);
+    }
+
+    // Adds every non-final child position in canonical form
+    private static void expand(Position position, int player, Symmetry symmetry, Map<Long, BitBoard> next) {
+        BitBoard board = position.getBoard();
+        int winLength = position.getWinLength();
+        for (int pos = board.nextEmpty(0); pos != -1; pos = board.nextEmpty(pos + 1)) {
+            boolean won = position.play(player, pos) != -1;
+            if (!won && position.getCounters().isWinnable() && !position.getCounters().isFull()) {
+                int transform = symmetry.canonicalTransform(board, winLength);
+                long hash = symmetry.hash(board, winLength, transform);
+                if (!next.containsKey(hash)) {
+                    next.put(hash, symmetry.transform(board, transform));
+                }
+            }
+            position.undo(player, pos);
+        }
+    }
+}
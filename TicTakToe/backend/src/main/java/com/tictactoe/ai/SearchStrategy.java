@@ -0,0 +1,456 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.ai.MoveStats.Phase;
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.LineCounters;
+import com.tictactoe.engine.LineShapes;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
+import com.tictactoe.engine.Zobrist;
+import com.tictactoe.model.AgentThoughts;
+import com.tictactoe.model.MoveBudget;
+import com.tictactoe.model.Verbosity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Iterative-deepening negamax with alpha-beta pruning and a shared transposition table.
+ * On larger boards helper searches run in a bounded ForkJoinPool alongside the main
+ * search (lazy SMP): they walk the root moves in different orders and feed the shared
+ * table, and the deepest finished result wins.
+ */
+@Component
+public class SearchStrategy implements AIStrategy {
+
+    public static final String NAME = "search";
+
+    static final int WIN = 100_000_000;
+    static final int MAX_PLY = Zobrist.MAX_CELLS;
+    private static final int INFINITY = WIN + 1;
+    // Below this many empty cells a single thread finishes long before the deadline
+    private static final int PARALLEL_MIN_EMPTIES = 12;
+
+    private final long moveTimeNanos;
+    private final TranspositionTable table;
+    private final ForkJoinPool pool;
+    private final int threadsPerMove;
+    private final OpeningBook book;
+    private final EndgameTable endgame;
+
+    public SearchStrategy(@Value("${tictactoe.ai.search.move-time-ms:1000}") long moveTimeMs,
+                          @Value("${tictactoe.ai.search.tt-size-mb:64}") int ttSizeMb,
+                          @Value("${tictactoe.ai.search.threads:0}") int threads,
+                          @Value("${tictactoe.ai.search.threads-per-move:0}") int threadsPerMove,
+                          OpeningBook book,
+                          EndgameTable endgame) {
+        int cores = Runtime.getRuntime().availableProcessors();
+        this.moveTimeNanos = TimeUnit.MILLISECONDS.toNanos(moveTimeMs);
+        this.table = new TranspositionTable(ttSizeMb);
+        this.pool = new ForkJoinPool(threads > 0 ? threads : cores);
+        this.threadsPerMove = Math.min(threadsPerMove > 0 ? threadsPerMove : cores, pool.getParallelism() + 1);
+        this.book = book;
+        this.endgame = endgame;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // The search makes no random choices, so random goes unused
+    @Override
+    public AgentThoughts chooseMove(Position position, int player, MoveBudget budget, Verbosity verbosity,
+                                    SplittableRandom random) {
+        AgentThoughts thoughts = new AgentThoughts(verbosity);
+        boolean full = thoughts.isFull();
+        int boardSize = position.getBoardSize();
+        MoveStats stats = MoveStats.current();
+        stats.reset();
+        long start = System.nanoTime();
+        long moveStart = start;
+
+        int solved = endgame.probe(position, player);
+        start = stats.phase(Phase.ENDGAME_TABLE, start);
+        if (EndgameTable.result(solved) != EndgameTable.UNKNOWN) {
+            stats.decide(Phase.ENDGAME_TABLE);
+            int result = EndgameTable.result(solved);
+            int move = EndgameTable.move(solved);
+            String outcome = result == EndgameTable.WIN ? "win" : result == EndgameTable.DRAW ? "draw" : "loss";
+            if (full) {
+                thoughts.addThought("Solved position: " + outcome + " with perfect play", "");
+                thoughts.addThought("Table move at " + HeuristicStrategy.positionName(boardSize, move),
+                    result == EndgameTable.WIN ? "win" : result == EndgameTable.LOSS ? "block" : "strategy");
+            }
+            thoughts.setChosenMove(move);
+            thoughts.setReason(thoughts.isSummary() ? "Endgame table (" + outcome + ")" : "Endgame table");
+            thoughts.recordBudget(budget, System.nanoTime() - moveStart, 0, false);
+            return thoughts;
+        }
+
+        int bookMove = book.lookup(position, player);
+        start = stats.phase(Phase.OPENING_BOOK, start);
+        if (bookMove != -1) {
+            stats.decide(Phase.OPENING_BOOK);
+            if (full) {
+                thoughts.addThought("Known opening position", "");
+                thoughts.addThought("Book move at " + HeuristicStrategy.positionName(boardSize, bookMove), "strategy");
+            }
+            thoughts.setChosenMove(bookMove);
+            thoughts.setReason("Opening book");
+            thoughts.recordBudget(budget, System.nanoTime() - moveStart, 0, false);
+            return thoughts;
+        }
+
+        if (full) {
+            thoughts.addThought("Searching " + boardSize + "x" + boardSize + " board with alpha-beta...", "");
+        }
+
+        table.newSearch();
+        long deadline = budget.stopAt(System.nanoTime(),
+            budget.hasTimeLimit() ? TimeUnit.MILLISECONDS.toNanos(budget.getTimeMs()) : moveTimeNanos);
+        long nodeLimit = budget.hasNodeLimit() ? budget.getNodes() : Long.MAX_VALUE;
+        AtomicBoolean stop = new AtomicBoolean();
+        Search search = new Search(position.copy(), table, deadline, nodeLimit, stop, 0);
+
+        // A node budget is spent by the main search alone so the count is exact
+        int empties = position.getCellCount() - position.getCounters().getStones();
+        int helperCount = empties >= PARALLEL_MIN_EMPTIES && !budget.hasNodeLimit() ? threadsPerMove - 1 : 0;
+        List<Search> helpers = new ArrayList<>(helperCount);
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(helperCount);
+        for (int i = 1; i <= helperCount; i++) {
+            Search helper = new Search(position.copy(), table, deadline, nodeLimit, stop, i);
+            helpers.add(helper);
+            tasks.add(pool.submit(() -> {
+                if (helper.claimed.compareAndSet(false, true)) {
+                    helper.run(player);
+                }
+            }));
+        }
+
+        search.run(player);
+        stop.set(true);
+        boolean exhausted = search.exhausted;
+        long nodes = search.nodes;
+        for (int i = 0; i < tasks.size(); i++) {
+            Search helper = helpers.get(i);
+            // A helper still queued behind other games' helpers is dropped rather than waited
+            // for; one that started sees stop within a few nodes
+            if (helper.claimed.compareAndSet(false, true)) {
+                tasks.get(i).cancel(false);
+                continue;
+            }
+            tasks.get(i).join();
+            nodes += helper.nodes;
+            if (helper.completedDepth > search.completedDepth) {
+                search = helper;
+            }
+        }
+
+        stats.phase(Phase.SEARCH, start);
+        stats.decide(Phase.SEARCH);
+        stats.addPositions(nodes);
+
+        int move = search.bestMove;
+        int score = search.bestScore;
+        boolean summary = thoughts.isSummary();
+        String reason;
+        String type;
+        if (score >= WIN - MAX_PLY) {
+            int plies = WIN - score;
+            reason = plies <= 1 ? "WINNING MOVE" : summary ? "Forced win in " + (plies + 1) / 2 : "Forced win";
+            type = "win";
+        } else if (score <= -WIN + MAX_PLY) {
+            reason = "Best defence";
+            type = "block";
+        } else {
+            reason = summary ? "Search depth " + search.completedDepth : "Search";
+            type = "strategy";
+        }
+        if (full) {
+            thoughts.addThought("Searched " + nodes + " positions on " + (helperCount + 1) + " threads to depth "
+                + search.completedDepth, "");
+            if (exhausted) {
+                thoughts.addThought("Budget used up, playing the best move so far", "");
+            }
+            thoughts.addThought(reason + " at " + HeuristicStrategy.positionName(boardSize, move), type);
+        }
+        thoughts.setChosenMove(move);
+        thoughts.setReason(reason);
+        thoughts.recordBudget(budget, System.nanoTime() - moveStart, nodes, exhausted);
+        return thoughts;
+    }
+
+    private static final class Search {
+        private final Position position;
+        private final PatternTable patterns;
+        private final LineCounters counters;
+        private final TranspositionTable table;
+        private final long deadline;
+        private final long nodeLimit;
+        private final AtomicBoolean stop;
+        // 0 for the main search, 1.. for helpers
+        private final int helper;
+        private final int cells;
+        // Move and ordering-score buffers, one row per ply, allocated as the search gets there
+        private final int[][] moves;
+        private final int[][] scores;
+
+        // Taken by the helper when it starts, or by the main search to drop it unstarted
+        final AtomicBoolean claimed = new AtomicBoolean();
+        long nodes;
+        boolean aborted;
+        // Stopped by the time or node budget rather than by another thread's proof
+        boolean exhausted;
+        int bestMove = -1;
+        int bestScore;
+        int completedDepth;
+        private int rootScore;
+
+        Search(Position position, TranspositionTable table, long deadline, long nodeLimit, AtomicBoolean stop,
+               int helper) {
+            this.position = position;
+            this.patterns = position.getTable();
+            this.counters = position.getCounters();
+            this.table = table;
+            this.deadline = deadline;
+            this.nodeLimit = nodeLimit;
+            this.stop = stop;
+            this.helper = helper;
+            this.cells = position.getCellCount();
+            int empties = cells - counters.getStones();
+            this.moves = new int[empties + 1][];
+            this.scores = new int[empties + 1][];
+        }
+
+        void run(int player) {
+            int empties = cells - counters.getStones();
+            int count = generateMoves(player, 0, -1);
+            bestMove = moves[0][0];
+            if (count == 1) {
+                return;
+            }
+            // Odd helpers skip depth 1 so helpers spread over different depths
+            for (int depth = 1 + (helper & 1); depth <= empties; depth++) {
+                int move = searchRoot(player, depth, count);
+                if (aborted) {
+                    // Root moves are searched best-first, so a partial iteration can only improve
+                    if (move != -1 && (completedDepth == 0 || rootScore > bestScore)) {
+                        bestMove = move;
+                        bestScore = rootScore;
+                    }
+                    break;
+                }
+                bestMove = move;
+                bestScore = rootScore;
+                completedDepth = depth;
+                if (Math.abs(bestScore) >= WIN - MAX_PLY) {
+                    // Proven result, no point in anyone searching further
+                    stop.set(true);
+                    break;
+                }
+            }
+        }
+
+        private int searchRoot(int player, int depth, int count) {
+            int[] rootMoves = moves[0];
+            // Previous best first
+            for (int i = 0; i < count; i++) {
+                if (rootMoves[i] == bestMove) {
+                    System.arraycopy(rootMoves, 0, rootMoves, 1, i);
+                    rootMoves[0] = bestMove;
+                    break;
+                }
+            }
+            // Helpers rotate the remaining moves so each starts on a different subtree
+            if (helper > 0 && count > 2) {
+                rotate(rootMoves, 1, count, helper % (count - 1));
+            }
+
+            int alpha = -INFINITY;
+            int best = -1;
+            for (int i = 0; i < count; i++) {
+                int move = rootMoves[i];
+                int score = playAndSearch(player, move, depth, alpha, INFINITY, 0);
+                if (aborted) {
+                    break;
+                }
+                if (score > alpha) {
+                    alpha = score;
+                    best = move;
+                }
+            }
+            rootScore = alpha;
+            if (!aborted) {
+                table.store(position.getHash() ^ Zobrist.side(player), best, depth, TranspositionTable.EXACT, alpha);
+            }
+            return best;
+        }
+
+        private int playAndSearch(int player, int move, int depth, int alpha, int beta, int ply) {
+            int completed = position.play(player, move);
+            int score = completed != -1
+                ? WIN - ply - 1
+                : -negamax(BitBoard.opponent(player), depth - 1, -beta, -alpha, ply + 1);
+            position.undo(player, move);
+            return score;
+        }
+
+        private int negamax(int player, int depth, int alpha, int beta, int ply) {
+            if ((++nodes & 255) == 0 || nodes >= nodeLimit) {
+                if (nodes >= nodeLimit || System.nanoTime() - deadline > 0) {
+                    exhausted = true;
+                    aborted = true;
+                } else if (stop.get()) {
+                    aborted = true;
+                }
+            }
+            if (aborted) {
+                return 0;
+            }
+            if (counters.threats(player) > 0) {
+                return WIN - ply - 1;
+            }
+            if (!counters.isWinnable() || counters.isFull()) {
+                return 0;
+            }
+            if (depth <= 0) {
+                return evaluate(player);
+            }
+
+            long key = position.getHash() ^ Zobrist.side(player);
+            long entry = table.probe(key);
+            int ttMove = -1;
+            if (entry != 0) {
+                ttMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int score = fromTable(TranspositionTable.score(entry), ply);
+                    int flag = TranspositionTable.flag(entry);
+                    if (flag == TranspositionTable.EXACT
+                            || (flag == TranspositionTable.LOWER && score >= beta)
+                            || (flag == TranspositionTable.UPPER && score <= alpha)) {
+                        return score;
+                    }
+                }
+            }
+
+            int originalAlpha = alpha;
+            int count = generateMoves(player, ply, ttMove);
+            int[] nodeMoves = moves[ply];
+            int best = -INFINITY;
+            int bestMoveHere = -1;
+            for (int i = 0; i < count; i++) {
+                int move = nodeMoves[i];
+                int score = playAndSearch(player, move, depth, alpha, beta, ply);
+                if (aborted) {
+                    return 0;
+                }
+                if (score > best) {
+                    best = score;
+                    bestMoveHere = move;
+                    if (score > alpha) {
+                        alpha = score;
+                        if (alpha >= beta) {
+                            break;
+                        }
+                    }
+                }
+            }
+
+            int flag = best <= originalAlpha ? TranspositionTable.UPPER
+                : best >= beta ? TranspositionTable.LOWER
+                : TranspositionTable.EXACT;
+            table.store(key, bestMoveHere, depth, flag, toTable(best, ply));
+            return best;
+        }
+
+        // Static score from the side to move's point of view, kept up to date by the counters
+        private int evaluate(int player) {
+            return counters.lineScore(player) - counters.lineScore(BitBoard.opponent(player));
+        }
+
+        // Fills moves[ply] with the position's candidate cells, best first: by the threats a
+        // stone there makes and blocks, or by the open lines through it past the shape tables
+        private int generateMoves(int player, int ply, int ttMove) {
+            int opponent = BitBoard.opponent(player);
+            if (moves[ply] == null) {
+                moves[ply] = new int[cells];
+                scores[ply] = new int[cells];
+            }
+            int[] nodeMoves = moves[ply];
+            int[] nodeScores = scores[ply];
+            LineShapes shapes = position.getShapes();
+            int count = 0;
+            for (int pos = position.nextCandidate(0); pos != -1; pos = position.nextCandidate(pos + 1)) {
+                int score;
+                if (pos == ttMove) {
+                    score = Integer.MAX_VALUE;
+                } else if (shapes != null) {
+                    score = shapes.score(player, pos) + shapes.score(opponent, pos);
+                } else {
+                    score = 0;
+                    for (int i = patterns.patternsStart(pos), end = patterns.patternsEnd(pos); i < end; i++) {
+                        int p = patterns.patternAt(i);
+                        int mine = counters.count(player, p);
+                        int theirs = counters.count(opponent, p);
+                        if (theirs == 0) {
+                            score += weight(mine + 1);
+                        } else if (mine == 0) {
+                            score += weight(theirs + 1);
+                        }
+                    }
+                }
+                // Insertion sort, highest score first
+                int i = count++;
+                while (i > 0 && nodeScores[i - 1] < score) {
+                    nodeMoves[i] = nodeMoves[i - 1];
+                    nodeScores[i] = nodeScores[i - 1];
+                    i--;
+                }
+                nodeMoves[i] = pos;
+                nodeScores[i] = score;
+            }
+            return count;
+        }
+
+        private static void rotate(int[] values, int from, int to, int shift) {
+            if (shift == 0) {
+                return;
+            }
+            int[] head = new int[shift];
+            System.arraycopy(values, from, head, 0, shift);
+            System.arraycopy(values, from + shift, values, from, to - from - shift);
+            System.arraycopy(head, 0, values, to - shift, shift);
+        }
+
+        private static int weight(int stones) {
+            return LineCounters.weight(stones);
+        }
+
+        // Win scores are stored relative to the node so they stay valid at any ply
+        private static int toTable(int score, int ply) {
+            if (score >= WIN - MAX_PLY) return score + ply;
+            if (score <= -WIN + MAX_PLY) return score - ply;
+            return score;
+        }
+
+        private static int fromTable(int score, int ply) {
+            if (score >= WIN - MAX_PLY) return score - ply;
+            if (score <= -WIN + MAX_PLY) return score + ply;
+            return score;
+        }
+    }
+}
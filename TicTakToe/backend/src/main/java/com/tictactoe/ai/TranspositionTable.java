@@ -0,0 +1,68 @@
+package com.tictactoe.ai;
+
+/**
+ * Fixed-size, single-slot transposition table. Each entry packs score, bound,
+ * depth, best move and search age into one long; the key is stored xor'ed with
+ * that data so a torn write from another thread simply reads as a miss.
+ */
+final class TranspositionTable {
+    static final int EXACT = 1;
+    static final int LOWER = 2;
+    static final int UPPER = 3;
+
+    private static final long VALID = 1L << 63;
+
+    private final long[] keys;
+    private final long[] data;
+    private final int mask;
+    private volatile int age;
+
+    TranspositionTable(int sizeMb) {
+        int entries = Integer.highestOneBit(Math.max(1, sizeMb) * (1 << 20) / 16);
+        this.keys = new long[entries];
+        this.data = new long[entries];
+        this.mask = entries - 1;
+    }
+
+    // Called once per root search so entries from older searches are replaced first
+    void newSearch() {
+        age = (age + 1) & 0x1F;
+    }
+
+    // Packed entry for the key, or 0 on a miss
+    long probe(long key) {
+        int index = (int) key & mask;
+        long entry = data[index];
+        return (keys[index] ^ entry) == key && entry != 0 ? entry : 0;
+    }
+
+    void store(long key, int move, int depth, int flag, int score) {
+        int index = (int) key & mask;
+        long existing = data[index];
+        boolean sameKey = (keys[index] ^ existing) == key;
+        if (existing != 0 && !sameKey && entryAge(existing) == age && depth(existing) > depth) {
+            // Keep the deeper result from the current search
+            return;
+        }
+        if (sameKey && move < 0) {
+            move = move(existing);
+        }
+        long entry = VALID
+            | (long) age << 58
+            | (long) flag << 56
+            | (long) Math.min(depth, 0xFF) << 48
+            | (long) ((move + 1) & 0xFFFF) << 32
+            | (score & 0xFFFFFFFFL);
+        data[index] = entry;
+        keys[index] = key ^ entry;
+    }
+
+    static int score(long entry) { return (int) entry; }
+    static int move(long entry) { return (int) ((entry >>> 32) & 0xFFFF) - 1; }
+    static int depth(long entry) { return (int) ((entry >>> 48) & 0xFF); }
+    static int flag(long entry) { return (int) ((entry >>> 56) & 0x3); }
+
+    private static int entryAge(long entry) {
+        return (int) ((entry >>> 58) & 0x1F);
+    }
+}
@@ -0,0 +1,22 @@
+package com.tictactoe.config;
+
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    // Caps the distinct boardSize and winLength values on the AI meters; configurations
+    // past the cap go unrecorded instead of adding series. The defaults admit every size.
+    @Bean
+    public MeterFilter boardSizeTagLimit(@Value("${tictactoe.metrics.max-board-sizes:17}") int maxValues) {
+        return MeterFilter.maximumAllowableTags("tictactoe.ai", "boardSize", maxValues, MeterFilter.deny());
+    }
+
+    @Bean
+    public MeterFilter winLengthTagLimit(@Value("${tictactoe.metrics.max-win-lengths:17}") int maxValues) {
+        return MeterFilter.maximumAllowableTags("tictactoe.ai", "winLength", maxValues, MeterFilter.deny());
+    }
+}
@@ -1,40 +1,117 @@
 package com.tictactoe.controller;
 
 import com.tictactoe.model.*;
+import com.tictactoe.service.AIMoveExecutor;
 import com.tictactoe.service.GameService;
+import com.tictactoe.service.GameStreamService;
+import com.tictactoe.service.SelfPlayService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/game")
 @CrossOrigin(origins = "http://localhost:3000")
 public class GameController {
 
+    // Response shapes selected with ?view=
+    private static final String VIEW_FULL = "full";
+    private static final String VIEW_DELTA = "delta";
+    private static final String VIEW_COMPACT = "compact";
+
     @Autowired
     private GameService gameService;
 
-    @GetMapping("/state")
-    public GameState getGameState() {
-        return gameService.getGameState();
-    }
+    @Autowired
+    private SelfPlayService selfPlayService;
+
+    @Autowired
+    private GameStreamService gameStreamService;
+
+    @Autowired
+    private AIMoveExecutor aiMoveExecutor;
 
     @PostMapping("/new")
     public GameState newGame(@RequestBody GameConfig config) {
         return gameService.newGame(config);
     }
 
-    @PostMapping("/reset")
-    public GameState resetGame() {
-        return gameService.resetGame();
+    // The ETag is the game version, so an unchanged poll is answered with 304 before anything is serialized
+    @GetMapping("/{gameId}/state")
+    public ResponseEntity<Object> getGameState(@PathVariable String gameId,
+                                               @RequestParam(defaultValue = VIEW_FULL) String view,
+                                               WebRequest request) {
+        GameState state = gameService.getGameState(gameId);
+        String etag = "\"" + state.getVersion() + "-" + view + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        Object body = VIEW_COMPACT.equals(view) ? new CompactGameState(state) : state;
+        return ResponseEntity.ok().eTag(etag).body(body);
+    }
+
+    @PostMapping("/{gameId}/reset")
+    public GameState resetGame(@PathVariable String gameId) {
+        return gameService.resetGame(gameId);
+    }
+
+    // view=delta answers with just the move, status and thoughts
+    @PostMapping("/{gameId}/move")
+    public Object makeMove(@PathVariable String gameId, @RequestBody MoveRequest move,
+                           @RequestParam(defaultValue = VIEW_FULL) String view) {
+        return VIEW_DELTA.equals(view)
+            ? gameService.makeMoveDelta(gameId, move.getPosition())
+            : gameService.makeMove(gameId, move.getPosition());
+    }
+
+    // Many moves for many games in one request, answered with one compact result per game
+    @PostMapping("/moves")
+    public List<MoveBatchResult> makeMoves(@RequestBody List<MoveBatch> batches) {
+        return gameService.makeMoves(batches);
+    }
+
+    // Computed on the AI executor; the servlet thread is released while the AI thinks
+    @PostMapping("/{gameId}/ai-move")
+    public CompletableFuture<Object> makeAIMove(@PathVariable String gameId,
+                                                @RequestParam(defaultValue = VIEW_FULL) String view,
+                                                @RequestParam(required = false) Long timeMs,
+                                                @RequestParam(required = false) Long nodes) {
+        gameService.getGameState(gameId);
+        // Either parameter replaces the game's budget for this move
+        MoveBudget budget = timeMs == null && nodes == null
+            ? null
+            : MoveBudget.of(timeMs == null ? 0 : timeMs, nodes == null ? 0 : nodes);
+        return aiMoveExecutor.submit(deadline -> VIEW_DELTA.equals(view)
+            ? gameService.makeAIMoveDelta(gameId, budget, deadline)
+            : gameService.makeAIMove(gameId, budget, deadline));
+    }
+
+    // Full state first, then one "move" event per move; AI turns are played by the server
+    @GetMapping(value = "/{gameId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable String gameId,
+                             @RequestParam(defaultValue = "${tictactoe.stream.ai-move-delay-ms:500}") long aiDelayMs) {
+        return gameStreamService.subscribe(gameId, aiDelayMs);
+    }
+
+    // Starts a background job; poll it by jobId for progress and the final stats
+    @PostMapping("/self-play")
+    public ResponseEntity<SelfPlayStats> selfPlay(@RequestBody SelfPlayRequest request) {
+        return ResponseEntity.accepted().body(selfPlayService.start(request));
     }
 
-    @PostMapping("/move")
-    public GameState makeMove(@RequestBody MoveRequest move) {
-        return gameService.makeMove(move.getPosition());
+    @GetMapping("/self-play/{jobId}")
+    public SelfPlayStats selfPlayStatus(@PathVariable String jobId) {
+        return selfPlayService.status(jobId);
     }
 
-    @PostMapping("/ai-move")
-    public GameState makeAIMove() {
-        return gameService.makeAIMove();
+    @DeleteMapping("/self-play/{jobId}")
+    public SelfPlayStats cancelSelfPlay(@PathVariable String jobId) {
+        return selfPlayService.cancel(jobId);
     }
 }
@@ -0,0 +1,188 @@
+package com.tictactoe.engine;
+
+import java.util.Arrays;
+
+/**
+ * Two bitsets per board, one per player. Cell i lives in word i >>> 6, bit i & 63,
+ * so boards up to 8x8 fit in a single word and larger boards span a few.
+ */
+public final class BitBoard {
+    public static final int X = 0;
+    public static final int O = 1;
+
+    private final int cells;
+    private final int words;
+    private final long[] x;
+    private final long[] o;
+
+    public BitBoard(int cells) {
+        this.cells = cells;
+        this.words = wordsFor(cells);
+        this.x = new long[words];
+        this.o = new long[words];
+    }
+
+    private BitBoard(BitBoard other) {
+        this.cells = other.cells;
+        this.words = other.words;
+        this.x = other.x.clone();
+        this.o = other.o.clone();
+    }
+
+    public static int wordsFor(int cells) {
+        return (cells + 63) >>> 6;
+    }
+
+    public static int opponent(int player) {
+        return player ^ 1;
+    }
+
+    public BitBoard copy() {
+        return new BitBoard(this);
+    }
+
+    public int getCells() { return cells; }
+    public int getWords() { return words; }
+
+    public void place(int player, int pos) {
+        long bit = 1L << pos;
+        if (player == X) {
+            x[pos >>> 6] |= bit;
+        } else {
+            o[pos >>> 6] |= bit;
+        }
+    }
+
+    public void remove(int pos) {
+        long keep = ~(1L << pos);
+        x[pos >>> 6] &= keep;
+        o[pos >>> 6] &= keep;
+    }
+
+    public void clear() {
+        Arrays.fill(x, 0L);
+        Arrays.fill(o, 0L);
+    }
+
+    public boolean isEmpty(int pos) {
+        long bit = 1L << pos;
+        return ((x[pos >>> 6] | o[pos >>> 6]) & bit) == 0;
+    }
+
+    // -1 for an empty cell, otherwise X or O
+    public int owner(int pos) {
+        long bit = 1L << pos;
+        if ((x[pos >>> 6] & bit) != 0) return X;
+        if ((o[pos >>> 6] & bit) != 0) return O;
+        return -1;
+    }
+
+    public int stoneCount() {
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(x[w] | o[w]);
+        }
+        return count;
+    }
+
+    public boolean isFull() {
+        return stoneCount() == cells;
+    }
+
+    // Stones of the player inside the mask that starts at masks[offset]
+    public int count(int player, long[] masks, int offset) {
+        long[] bits = player == X ? x : o;
+        int count = 0;
+        for (int w = 0; w < words; w++) {
+            count += Long.bitCount(bits[w] & masks[offset + w]);
+        }
+        return count;
+    }
+
+    // First empty cell inside the mask, or -1
+    public int firstEmpty(long[] masks, int offset) {
+        for (int w = 0; w < words; w++) {
+            long free = masks[offset + w] & ~(x[w] | o[w]);
+            if (free != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(free);
+            }
+        }
+        return -1;
+    }
+
+    // Next empty cell at or after from, or -1
+    public int nextEmpty(int from) {
+        if (from >= cells) return -1;
+        int w = from >>> 6;
+        long free = ~(x[w] | o[w]) & (-1L << from);
+        while (true) {
+            if (free != 0) {
+                int pos = (w << 6) + Long.numberOfTrailingZeros(free);
+                return pos < cells ? pos : -1;
+            }
+            if (++w == words) return -1;
+            free = ~(x[w] | o[w]);
+        }
+    }
+
+    public static void setBit(long[] masks, int offset, int pos) {
+        masks[offset + (pos >>> 6)] |= 1L << pos;
+    }
+
+    public static boolean testBit(long[] masks, int offset, int pos) {
+        return (masks[offset + (pos >>> 6)] & (1L << pos)) != 0;
+    }
+
+    public static String symbol(int player) {
+        return player == X ? "X" : "O";
+    }
+
+    public static int player(String symbol) {
+        return "X".equals(symbol) ? X : O;
+    }
+
+    // View adapter for the REST shape: "X", "O" or "" per cell
+    public String[] toStrings() {
+        String[] board = new String[cells];
+        for (int i = 0; i < cells; i++) {
+            int owner = owner(i);
+            board[i] = owner == -1 ? "" : symbol(owner);
+        }
+        return board;
+    }
+
+    // Compact REST shape: two bits per cell (0 empty, 1 X, 2 O), four cells per byte,
+    // cell 0 in the low bits of byte 0
+    public byte[] pack() {
+        byte[] packed = new byte[(cells + 3) >>> 2];
+        for (int pos = 0; pos < cells; pos++) {
+            int owner = owner(pos);
+            if (owner != -1) {
+                packed[pos >>> 2] |= (owner + 1) << ((pos & 3) << 1);
+            }
+        }
+        return packed;
+    }
+
+    // Inverse of pack
+    public void unpack(byte[] packed) {
+        clear();
+        for (int pos = 0; pos < cells && (pos >>> 2) < packed.length; pos++) {
+            int owner = ((packed[pos >>> 2] >>> ((pos & 3) << 1)) & 3) - 1;
+            if (owner != -1) {
+                place(owner, pos);
+            }
+        }
+    }
+
+    public void fromStrings(String[] board) {
+        clear();
+        for (int i = 0; i < cells && i < board.length; i++) {
+            if ("X".equals(board[i])) {
+                place(X, i);
+            } else if ("O".equals(board[i])) {
+                place(O, i);
+            }
+        }
+    }
+}
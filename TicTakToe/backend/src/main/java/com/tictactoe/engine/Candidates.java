@@ -0,0 +1,106 @@
+package com.tictactoe.engine;
+
+/**
+ * Cells within RADIUS (Chebyshev distance) of a stone, kept up to date move by move.
+ * On large boards the AI only considers empty cells from this set, so the work per move
+ * follows the stones played rather than the board area. Small boards are left dense:
+ * every empty cell is a candidate. Either way the empty candidates are kept as a bitset
+ * of their own, so walking them is a plain bit scan.
+ */
+public final class Candidates {
+    public static final int RADIUS = 2;
+    // Boards up to this size are scanned in full
+    public static final int DENSE_MAX_SIZE = 7;
+
+    private final int boardSize;
+    private final boolean sparse;
+    private final int cells;
+    // Stones within RADIUS of each cell; only kept when sparse
+    private final int[] stonesNear;
+    // Empty cells that are candidates, in BitBoard layout
+    private final long[] open;
+
+    // Starts from an empty board
+    public Candidates(int boardSize) {
+        this.boardSize = boardSize;
+        this.sparse = boardSize > DENSE_MAX_SIZE;
+        this.cells = boardSize * boardSize;
+        this.stonesNear = new int[sparse ? cells : 0];
+        this.open = new long[BitBoard.wordsFor(cells)];
+        if (!sparse) {
+            for (int pos = 0; pos < cells; pos++) {
+                BitBoard.setBit(open, 0, pos);
+            }
+        }
+    }
+
+    private Candidates(Candidates other) {
+        this.boardSize = other.boardSize;
+        this.sparse = other.sparse;
+        this.cells = other.cells;
+        this.stonesNear = other.stonesNear.clone();
+        this.open = other.open.clone();
+    }
+
+    public Candidates copy() {
+        return new Candidates(this);
+    }
+
+    public boolean isSparse() { return sparse; }
+
+    // Next candidate at or after from, or -1
+    public int next(int from) {
+        if (from >= cells) return -1;
+        int w = from >>> 6;
+        long bits = open[w] & (-1L << from);
+        while (true) {
+            if (bits != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++w == open.length) return -1;
+            bits = open[w];
+        }
+    }
+
+    // Called once pos holds a stone on board
+    public void place(int pos, BitBoard board) {
+        open[pos >>> 6] &= ~(1L << pos);
+        if (!sparse) {
+            return;
+        }
+        int row = pos / boardSize;
+        int col = pos % boardSize;
+        int colFrom = Math.max(0, col - RADIUS);
+        int colTo = Math.min(boardSize - 1, col + RADIUS);
+        for (int r = Math.max(0, row - RADIUS), rowTo = Math.min(boardSize - 1, row + RADIUS); r <= rowTo; r++) {
+            for (int cell = r * boardSize + colFrom, end = r * boardSize + colTo; cell <= end; cell++) {
+                if (stonesNear[cell]++ == 0 && board.isEmpty(cell)) {
+                    open[cell >>> 6] |= 1L << cell;
+                }
+            }
+        }
+    }
+
+    // Called once the stone at pos is gone from board
+    public void remove(int pos, BitBoard board) {
+        if (!sparse) {
+            open[pos >>> 6] |= 1L << pos;
+            return;
+        }
+        int row = pos / boardSize;
+        int col = pos % boardSize;
+        int colFrom = Math.max(0, col - RADIUS);
+        int colTo = Math.min(boardSize - 1, col + RADIUS);
+        for (int r = Math.max(0, row - RADIUS), rowTo = Math.min(boardSize - 1, row + RADIUS); r <= rowTo; r++) {
+            for (int cell = r * boardSize + colFrom, end = r * boardSize + colTo; cell <= end; cell++) {
+                if (--stonesNear[cell] == 0) {
+                    open[cell >>> 6] &= ~(1L << cell);
+                }
+            }
+        }
+        // Still a candidate when other stones are near
+        if (stonesNear[pos] > 0) {
+            open[pos >>> 6] |= 1L << pos;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.tictactoe.engine;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of ints, for move lists that would otherwise be List<Integer>. Clearing keeps
+ * the backing array, so a list reused move after move stops allocating once it has grown.
+ */
+public final class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        this.values = new int[Math.max(1, capacity)];
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " of " + size);
+        }
+        return values[index];
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    // Removes and returns the last value
+    public int pop() {
+        if (size == 0) {
+            throw new IndexOutOfBoundsException("Empty list");
+        }
+        return values[--size];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,172 @@
+package com.tictactoe.engine;
+
+/**
+ * Per-pattern X and O stone counts kept up to date move by move. The table's
+ * cell-to-pattern index means a move only touches the patterns through its
+ * cell, so win, winnability and full-board checks never rescan the board, and
+ * neither does the static evaluation.
+ */
+public final class LineCounters {
+    // Value of an open line (no opposing stone) by the number of stones in it
+    private static final int[] LINE_WEIGHTS = {0, 1, 8, 64, 512, 4096, 32768, 262144};
+
+    private final PatternTable table;
+    private final int winLength;
+    private final int cells;
+
+    private final int[] xCount;
+    private final int[] oCount;
+    // Patterns still open to X (no O stone) and to O (no X stone)
+    private int openForX;
+    private int openForO;
+    // Patterns one stone short of a win for X and for O, with no opposing stone
+    private int threatsX;
+    private int threatsO;
+    // Sum of line weights over the patterns still open to X, and to O
+    private int lineScoreX;
+    private int lineScoreO;
+    private int stones;
+
+    public LineCounters(PatternTable table) {
+        this.table = table;
+        this.winLength = table.getWinLength();
+        this.cells = table.getCellCount();
+        this.xCount = new int[table.getPatternCount()];
+        this.oCount = new int[table.getPatternCount()];
+        this.openForX = table.getPatternCount();
+        this.openForO = table.getPatternCount();
+    }
+
+    private LineCounters(LineCounters other) {
+        this.table = other.table;
+        this.winLength = other.winLength;
+        this.cells = other.cells;
+        this.xCount = other.xCount.clone();
+        this.oCount = other.oCount.clone();
+        this.openForX = other.openForX;
+        this.openForO = other.openForO;
+        this.threatsX = other.threatsX;
+        this.threatsO = other.threatsO;
+        this.lineScoreX = other.lineScoreX;
+        this.lineScoreO = other.lineScoreO;
+        this.stones = other.stones;
+    }
+
+    public LineCounters copy() {
+        return new LineCounters(this);
+    }
+
+    // Places a stone and returns the pattern it completed, or -1
+    public int place(int player, int pos) {
+        int[] mine = player == BitBoard.X ? xCount : oCount;
+        int[] theirs = player == BitBoard.X ? oCount : xCount;
+        int myThreats = 0;
+        int theirThreats = 0;
+        int myScore = 0;
+        int theirScore = 0;
+        int completed = -1;
+        for (int i = table.patternsStart(pos), end = table.patternsEnd(pos); i < end; i++) {
+            int p = table.patternAt(i);
+            int before = mine[p]++;
+            if (theirs[p] == 0) {
+                if (before == winLength - 2) myThreats++;
+                else if (before == winLength - 1) myThreats--;
+                myScore += weight(before + 1) - weight(before);
+            } else if (before == 0) {
+                if (theirs[p] == winLength - 1) theirThreats--;
+                theirScore -= weight(theirs[p]);
+            }
+            if (before == 0) {
+                if (player == BitBoard.X) openForO--; else openForX--;
+            }
+            if (before + 1 == winLength) {
+                completed = p;
+            }
+        }
+        addThreats(player, myThreats, theirThreats);
+        addLineScores(player, myScore, theirScore);
+        stones++;
+        return completed;
+    }
+
+    public void remove(int player, int pos) {
+        int[] mine = player == BitBoard.X ? xCount : oCount;
+        int[] theirs = player == BitBoard.X ? oCount : xCount;
+        int myThreats = 0;
+        int theirThreats = 0;
+        int myScore = 0;
+        int theirScore = 0;
+        for (int i = table.patternsStart(pos), end = table.patternsEnd(pos); i < end; i++) {
+            int p = table.patternAt(i);
+            int after = --mine[p];
+            if (theirs[p] == 0) {
+                if (after == winLength - 2) myThreats--;
+                else if (after == winLength - 1) myThreats++;
+                myScore -= weight(after + 1) - weight(after);
+            } else if (after == 0) {
+                if (theirs[p] == winLength - 1) theirThreats++;
+                theirScore += weight(theirs[p]);
+            }
+            if (after == 0) {
+                if (player == BitBoard.X) openForO++; else openForX++;
+            }
+        }
+        addThreats(player, myThreats, theirThreats);
+        addLineScores(player, myScore, theirScore);
+        stones--;
+    }
+
+    private void addLineScores(int player, int mine, int theirs) {
+        if (player == BitBoard.X) {
+            lineScoreX += mine;
+            lineScoreO += theirs;
+        } else {
+            lineScoreO += mine;
+            lineScoreX += theirs;
+        }
+    }
+
+    public static int weight(int stones) {
+        return LINE_WEIGHTS[Math.min(stones, LINE_WEIGHTS.length - 1)];
+    }
+
+    // Sum of weight(stones) over every pattern the player can still complete
+    public int lineScore(int player) {
+        return player == BitBoard.X ? lineScoreX : lineScoreO;
+    }
+
+    private void addThreats(int player, int mine, int theirs) {
+        if (player == BitBoard.X) {
+            threatsX += mine;
+            threatsO += theirs;
+        } else {
+            threatsO += mine;
+            threatsX += theirs;
+        }
+    }
+
+    // Number of patterns the player could complete with one more stone
+    public int threats(int player) {
+        return player == BitBoard.X ? threatsX : threatsO;
+    }
+
+    public boolean canWin(int player) {
+        return (player == BitBoard.X ? openForX : openForO) > 0;
+    }
+
+    public boolean isWinnable() {
+        return openForX > 0 || openForO > 0;
+    }
+
+    public boolean isFull() {
+        return stones == cells;
+    }
+
+    public int getStones() { return stones; }
+
+    public int count(int player, int pattern) {
+        return player == BitBoard.X ? xCount[pattern] : oCount[pattern];
+    }
+
+    public PatternTable getTable() { return table; }
+}
@@ -0,0 +1,262 @@
+package com.tictactoe.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Threat shapes a stone would make on each empty cell, kept up to date move by move.
+ * For every cell, direction and player the winLength - 1 cells on either side are
+ * encoded as a ternary number (0 empty, 1 own stone, 2 opponent stone or off the board),
+ * and a table shared by every board with the same win length maps that code to the
+ * shape a stone on the cell would make along the line: from an isolated stone through
+ * open and closed threes and fours to a win. A move adds to the codes of the cells
+ * around it, so looking up a cell's shapes never scans the board.
+ */
+public final class LineShapes {
+    // Tables grow as 3^(2 * winLength - 2); 7 keeps the largest at 531441 bytes
+    public static final int MAX_WIN_LENGTH = 7;
+
+    // Shapes by strength. A four has one cell left to win, an open four two; a three can
+    // become a four in one move, an open three an open four; twos likewise become threes.
+    public static final int NONE = 0;
+    public static final int ONE = 1;
+    public static final int TWO = 2;
+    public static final int OPEN_TWO = 3;
+    public static final int THREE = 4;
+    public static final int OPEN_THREE = 5;
+    public static final int FOUR = 6;
+    public static final int OPEN_FOUR = 7;
+    public static final int WIN = 8;
+
+    private static final int[] SHAPE_SCORES = {0, 1, 10, 100, 100, 1000, 1000, 10000, 100000};
+    // Two fours, or a four and an open three, win unless the opponent wins first;
+    // two open threes win against a single block
+    private static final int DOUBLE_FOUR_SCORE = 10000;
+    private static final int DOUBLE_THREE_SCORE = 5000;
+
+    private static final int[][] DIRECTIONS = {{0, 1}, {1, 0}, {1, 1}, {1, -1}};
+    private static final Map<Integer, byte[]> TABLES = new ConcurrentHashMap<>();
+
+    private final int boardSize;
+    private final int winLength;
+    private final byte[] table;
+    private final int[] pow3;
+    // Code of cell c in direction d for X is codes[0][c * 4 + d], for O codes[1][c * 4 + d]
+    private final int[][] codes;
+
+    public LineShapes(int boardSize, int winLength) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.table = TABLES.computeIfAbsent(winLength, LineShapes::buildTable);
+        this.pow3 = pow3(2 * winLength - 2);
+        this.codes = new int[2][boardSize * boardSize * 4];
+        // Cells past the edge block both players
+        for (int pos = 0; pos < boardSize * boardSize; pos++) {
+            for (int d = 0; d < 4; d++) {
+                for (int j = 1; j < winLength; j++) {
+                    if (!onBoard(pos, d, -j)) {
+                        block(pos * 4 + d, slotBefore(j));
+                    }
+                    if (!onBoard(pos, d, j)) {
+                        block(pos * 4 + d, slotAfter(j));
+                    }
+                }
+            }
+        }
+    }
+
+    private LineShapes(LineShapes other) {
+        this.boardSize = other.boardSize;
+        this.winLength = other.winLength;
+        this.table = other.table;
+        this.pow3 = other.pow3;
+        this.codes = new int[][]{other.codes[0].clone(), other.codes[1].clone()};
+    }
+
+    public LineShapes copy() {
+        return new LineShapes(this);
+    }
+
+    public static boolean supports(int winLength) {
+        return winLength <= MAX_WIN_LENGTH;
+    }
+
+    public void place(int player, int pos) {
+        update(player, pos, 1);
+    }
+
+    public void remove(int player, int pos) {
+        update(player, pos, -1);
+    }
+
+    // The stone at pos sits at distance j after the cells before it and before the cells after it
+    private void update(int player, int pos, int sign) {
+        int[] own = codes[player];
+        int[] other = codes[BitBoard.opponent(player)];
+        int row = pos / boardSize;
+        int col = pos % boardSize;
+        for (int d = 0; d < 4; d++) {
+            int step = DIRECTIONS[d][0] * boardSize + DIRECTIONS[d][1];
+            int before = Math.min(winLength - 1, reach(row, col, -DIRECTIONS[d][0], -DIRECTIONS[d][1]));
+            int after = Math.min(winLength - 1, reach(row, col, DIRECTIONS[d][0], DIRECTIONS[d][1]));
+            for (int j = 1, index = (pos - step) * 4 + d; j <= before; j++, index -= step * 4) {
+                int digit = pow3[slotAfter(j)] * sign;
+                own[index] += digit;
+                other[index] += 2 * digit;
+            }
+            for (int j = 1, index = (pos + step) * 4 + d; j <= after; j++, index += step * 4) {
+                int digit = pow3[slotBefore(j)] * sign;
+                own[index] += digit;
+                other[index] += 2 * digit;
+            }
+        }
+    }
+
+    // Shape a stone of player on empty cell pos would make in direction d
+    public int shape(int player, int pos, int d) {
+        return table[codes[player][pos * 4 + d]];
+    }
+
+    // Value of a stone of player on empty cell pos: its shapes in all four directions plus
+    // a bonus for double threats
+    public int score(int player, int pos) {
+        int[] own = codes[player];
+        int score = 0;
+        int fours = 0;
+        int openThrees = 0;
+        for (int d = 0, index = pos * 4; d < 4; d++, index++) {
+            int shape = table[own[index]];
+            score += SHAPE_SCORES[shape];
+            if (shape >= FOUR) {
+                fours++;
+            } else if (shape == OPEN_THREE) {
+                openThrees++;
+            }
+        }
+        if (fours >= 2 || (fours == 1 && openThrees >= 1)) {
+            score += DOUBLE_FOUR_SCORE;
+        } else if (openThrees >= 2) {
+            score += DOUBLE_THREE_SCORE;
+        }
+        return score;
+    }
+
+    private boolean onBoard(int pos, int d, int distance) {
+        int row = pos / boardSize + DIRECTIONS[d][0] * distance;
+        int col = pos % boardSize + DIRECTIONS[d][1] * distance;
+        return row >= 0 && row < boardSize && col >= 0 && col < boardSize;
+    }
+
+    // Steps from (row, col) along (dRow, dCol) before leaving the board
+    private int reach(int row, int col, int dRow, int dCol) {
+        int rows = dRow > 0 ? boardSize - 1 - row : dRow < 0 ? row : Integer.MAX_VALUE;
+        int cols = dCol > 0 ? boardSize - 1 - col : dCol < 0 ? col : Integer.MAX_VALUE;
+        return Math.min(rows, cols);
+    }
+
+    private void block(int index, int slot) {
+        codes[0][index] += 2 * pow3[slot];
+        codes[1][index] += 2 * pow3[slot];
+    }
+
+    // Slots 0 .. winLength - 2 are the cells before the center, nearest first; the rest
+    // are the cells after it
+    private int slotBefore(int distance) {
+        return distance - 1;
+    }
+
+    private int slotAfter(int distance) {
+        return winLength - 2 + distance;
+    }
+
+    private static int[] pow3(int n) {
+        int[] pow3 = new int[n + 1];
+        pow3[0] = 1;
+        for (int i = 1; i <= n; i++) {
+            pow3[i] = pow3[i - 1] * 3;
+        }
+        return pow3;
+    }
+
+    // Classifies every code bottom-up: wins and completing cells first, then threes from
+    // the completing cells one more stone would leave, then twos from the threes
+    private static byte[] buildTable(int winLength) {
+        int slots = 2 * winLength - 2;
+        int[] pow3 = pow3(slots);
+        int codes = pow3[slots];
+        int center = winLength - 1;
+        byte[] completing = new byte[codes];
+        boolean[] win = new boolean[codes];
+        boolean[] alive = new boolean[codes];
+        int[] line = new int[2 * winLength - 1];
+        for (int code = 0; code < codes; code++) {
+            // line[i] for the segment centered on the stone, which counts as own
+            for (int slot = 0, rest = code; slot < slots; slot++, rest /= 3) {
+                int index = slot < winLength - 1 ? center - 1 - slot : center + slot - winLength + 2;
+                line[index] = rest % 3;
+            }
+            line[center] = 1;
+            int emptiesToWin = 0;
+            for (int start = 0; start <= center; start++) {
+                int own = 0;
+                int empty = -1;
+                boolean blocked = false;
+                for (int i = start; i < start + winLength; i++) {
+                    if (line[i] == 1) {
+                        own++;
+                    } else if (line[i] == 0) {
+                        empty = i;
+                    } else {
+                        blocked = true;
+                    }
+                }
+                if (blocked) {
+                    continue;
+                }
+                alive[code] = true;
+                if (own == winLength) {
+                    win[code] = true;
+                } else if (own == winLength - 1) {
+                    emptiesToWin |= 1 << empty;
+                }
+            }
+            completing[code] = (byte) Integer.bitCount(emptiesToWin);
+        }
+
+        byte[] threes = new byte[codes];
+        for (int code = 0; code < codes; code++) {
+            threes[code] = win[code] ? WIN
+                : completing[code] >= 2 ? OPEN_FOUR
+                : completing[code] == 1 ? FOUR
+                : best(code, slots, pow3, completing, 2, OPEN_THREE, 1, THREE);
+        }
+        byte[] table = new byte[codes];
+        for (int code = 0; code < codes; code++) {
+            byte shape = threes[code];
+            if (shape == NONE) {
+                shape = best(code, slots, pow3, threes, OPEN_THREE, OPEN_TWO, THREE, TWO);
+            }
+            table[code] = shape == NONE && alive[code] ? ONE : shape;
+        }
+        return table;
+    }
+
+    // strong when one more own stone can reach strongAt in previous, else weak when it can
+    // reach weakAt, else NONE
+    private static byte best(int code, int slots, int[] pow3, byte[] previous,
+                             int strongAt, int strong, int weakAt, int weak) {
+        byte best = NONE;
+        for (int slot = 0, rest = code; slot < slots; slot++, rest /= 3) {
+            if (rest % 3 == 0) {
+                int next = previous[code + pow3[slot]];
+                if (next >= strongAt) {
+                    return (byte) strong;
+                }
+                if (next >= weakAt) {
+                    best = (byte) weak;
+                }
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,108 @@
+package com.tictactoe.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Immutable win-pattern table for one (boardSize, winLength) pair. Tables are
+ * built on first use and shared by every game with the same configuration.
+ */
+public final class PatternTable {
+    private static final Map<Integer, PatternTable> CACHE = new ConcurrentHashMap<>();
+
+    private final int boardSize;
+    private final int winLength;
+    private final int cellCount;
+    private final int patternCount;
+    private final int words;
+    // Cells of pattern p are cells[p * winLength .. (p + 1) * winLength)
+    private final int[] cells;
+    // Mask of pattern p is masks[p * words .. (p + 1) * words)
+    private final long[] masks;
+    // Patterns through cell c are cellPatterns[cellStart[c] .. cellStart[c + 1])
+    private final int[] cellStart;
+    private final int[] cellPatterns;
+
+    public static PatternTable of(int boardSize, int winLength) {
+        return CACHE.computeIfAbsent(boardSize << 8 | winLength, key -> new PatternTable(boardSize, winLength));
+    }
+
+    private PatternTable(int boardSize, int winLength) {
+        this.boardSize = boardSize;
+        this.winLength = winLength;
+        this.cellCount = boardSize * boardSize;
+        this.words = BitBoard.wordsFor(cellCount);
+
+        int lines = boardSize - winLength + 1;
+        this.patternCount = 2 * boardSize * lines + 2 * lines * lines;
+        this.cells = new int[patternCount * winLength];
+
+        int p = 0;
+        // Rows
+        for (int row = 0; row < boardSize; row++) {
+            for (int startCol = 0; startCol < lines; startCol++) {
+                p = addLine(p, row * boardSize + startCol, 1);
+            }
+        }
+        // Columns
+        for (int col = 0; col < boardSize; col++) {
+            for (int startRow = 0; startRow < lines; startRow++) {
+                p = addLine(p, startRow * boardSize + col, boardSize);
+            }
+        }
+        // Diagonals (top-left to bottom-right)
+        for (int row = 0; row < lines; row++) {
+            for (int col = 0; col < lines; col++) {
+                p = addLine(p, row * boardSize + col, boardSize + 1);
+            }
+        }
+        // Diagonals (top-right to bottom-left)
+        for (int row = 0; row < lines; row++) {
+            for (int col = winLength - 1; col < boardSize; col++) {
+                p = addLine(p, row * boardSize + col, boardSize - 1);
+            }
+        }
+
+        this.masks = new long[patternCount * words];
+        this.cellStart = new int[cellCount + 1];
+        for (int i = 0; i < cells.length; i++) {
+            BitBoard.setBit(masks, (i / winLength) * words, cells[i]);
+            cellStart[cells[i] + 1]++;
+        }
+        for (int c = 0; c < cellCount; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        this.cellPatterns = new int[cells.length];
+        int[] fill = cellStart.clone();
+        for (int i = 0; i < cells.length; i++) {
+            cellPatterns[fill[cells[i]]++] = i / winLength;
+        }
+    }
+
+    private int addLine(int p, int start, int step) {
+        for (int i = 0; i < winLength; i++) {
+            cells[p * winLength + i] = start + i * step;
+        }
+        return p + 1;
+    }
+
+    public int getBoardSize() { return boardSize; }
+    public int getWinLength() { return winLength; }
+    public int getCellCount() { return cellCount; }
+    public int getPatternCount() { return patternCount; }
+    public int getWords() { return words; }
+
+    public int cell(int pattern, int i) {
+        return cells[pattern * winLength + i];
+    }
+
+    public long[] masks() { return masks; }
+
+    public int maskOffset(int pattern) {
+        return pattern * words;
+    }
+
+    public int patternsStart(int pos) { return cellStart[pos]; }
+    public int patternsEnd(int pos) { return cellStart[pos + 1]; }
+    public int patternAt(int index) { return cellPatterns[index]; }
+}
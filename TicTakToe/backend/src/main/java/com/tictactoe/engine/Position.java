@@ -0,0 +1,94 @@
+package com.tictactoe.engine;
+
+/**
+ * The engine's view of a game: stones, per-pattern counters and the shared
+ * pattern table, with make/unmake for search.
+ */
+public final class Position {
+    private final PatternTable table;
+    private final BitBoard board;
+    private final LineCounters counters;
+    private final Candidates candidates;
+    // null when the win length is too long for shape tables
+    private final LineShapes shapes;
+    private long hash;
+
+    public Position(PatternTable table, BitBoard board) {
+        this.table = table;
+        this.board = board;
+        this.counters = new LineCounters(table);
+        this.candidates = new Candidates(table.getBoardSize());
+        this.shapes = LineShapes.supports(table.getWinLength())
+            ? new LineShapes(table.getBoardSize(), table.getWinLength())
+            : null;
+        this.hash = Zobrist.config(table.getBoardSize(), table.getWinLength());
+        for (int pos = 0; pos < table.getCellCount(); pos++) {
+            int owner = board.owner(pos);
+            if (owner != -1) {
+                counters.place(owner, pos);
+                candidates.place(pos, board);
+                if (shapes != null) {
+                    shapes.place(owner, pos);
+                }
+                hash ^= Zobrist.key(owner, pos);
+            }
+        }
+    }
+
+    private Position(Position other) {
+        this.table = other.table;
+        this.board = other.board.copy();
+        this.counters = other.counters.copy();
+        this.candidates = other.candidates.copy();
+        this.shapes = other.shapes == null ? null : other.shapes.copy();
+        this.hash = other.hash;
+    }
+
+    public Position copy() {
+        return new Position(this);
+    }
+
+    public PatternTable getTable() { return table; }
+    public BitBoard getBoard() { return board; }
+    public LineCounters getCounters() { return counters; }
+    public Candidates getCandidates() { return candidates; }
+    public LineShapes getShapes() { return shapes; }
+    public long getHash() { return hash; }
+
+    public int getBoardSize() { return table.getBoardSize(); }
+    public int getWinLength() { return table.getWinLength(); }
+    public int getCellCount() { return table.getCellCount(); }
+
+    // Places a stone and returns the pattern it completed, or -1
+    public int play(int player, int pos) {
+        board.place(player, pos);
+        hash ^= Zobrist.key(player, pos);
+        candidates.place(pos, board);
+        if (shapes != null) {
+            shapes.place(player, pos);
+        }
+        return counters.place(player, pos);
+    }
+
+    public void undo(int player, int pos) {
+        board.remove(pos);
+        hash ^= Zobrist.key(player, pos);
+        candidates.remove(pos, board);
+        if (shapes != null) {
+            shapes.remove(player, pos);
+        }
+        counters.remove(player, pos);
+    }
+
+    // Next empty cell at or after from worth considering as a move, or -1. On sparse
+    // boards that is an empty cell near a stone; an empty board offers every cell.
+    public int nextCandidate(int from) {
+        return candidates.isSparse() && counters.getStones() == 0
+            ? board.nextEmpty(from)
+            : candidates.next(from);
+    }
+
+    public boolean isEmpty(int pos) {
+        return board.isEmpty(pos);
+    }
+}
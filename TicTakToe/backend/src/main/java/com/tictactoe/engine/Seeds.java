@@ -0,0 +1,18 @@
+package com.tictactoe.engine;
+
+import java.util.SplittableRandom;
+
+// Independent random streams derived from one seed, so seeded games replay exactly
+public final class Seeds {
+
+    private Seeds() {}
+
+    // Stream for choice point index under seed; any stream can be recreated on its own,
+    // without replaying the ones before it
+    public static SplittableRandom stream(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return new SplittableRandom(z ^ (z >>> 31));
+    }
+}
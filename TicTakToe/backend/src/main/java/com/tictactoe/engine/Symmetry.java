@@ -0,0 +1,99 @@
+package com.tictactoe.engine;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The 8 rotations and reflections of a square board. A position's canonical form is
+ * the transform with the smallest Zobrist hash, so all 8 variants share one key.
+ */
+public final class Symmetry {
+    public static final int COUNT = 8;
+
+    private static final Map<Integer, Symmetry> CACHE = new ConcurrentHashMap<>();
+
+    private final int boardSize;
+    // forward[t][cell] is where cell lands under transform t; inverse undoes it
+    private final int[][] forward;
+    private final int[][] inverse;
+
+    public static Symmetry of(int boardSize) {
+        return CACHE.computeIfAbsent(boardSize, Symmetry::new);
+    }
+
+    private Symmetry(int boardSize) {
+        this.boardSize = boardSize;
+        int cells = boardSize * boardSize;
+        this.forward = new int[COUNT][cells];
+        this.inverse = new int[COUNT][cells];
+        int last = boardSize - 1;
+        for (int t = 0; t < COUNT; t++) {
+            for (int row = 0; row < boardSize; row++) {
+                for (int col = 0; col < boardSize; col++) {
+                    int r = row;
+                    int c = col;
+                    // Bit 2 transposes, then bits 0 and 1 mirror rows and columns
+                    if ((t & 4) != 0) {
+                        int tmp = r;
+                        r = c;
+                        c = tmp;
+                    }
+                    if ((t & 1) != 0) r = last - r;
+                    if ((t & 2) != 0) c = last - c;
+                    int from = row * boardSize + col;
+                    int to = r * boardSize + c;
+                    forward[t][from] = to;
+                    inverse[t][to] = from;
+                }
+            }
+        }
+    }
+
+    public int getBoardSize() { return boardSize; }
+
+    public int apply(int transform, int pos) {
+        return forward[transform][pos];
+    }
+
+    public int invert(int transform, int pos) {
+        return inverse[transform][pos];
+    }
+
+    // Zobrist hash of the board after applying the transform, salted like Position.getHash()
+    public long hash(BitBoard board, int winLength, int transform) {
+        long hash = Zobrist.config(boardSize, winLength);
+        int[] map = forward[transform];
+        for (int pos = 0; pos < map.length; pos++) {
+            int owner = board.owner(pos);
+            if (owner != -1) {
+                hash ^= Zobrist.key(owner, map[pos]);
+            }
+        }
+        return hash;
+    }
+
+    public int canonicalTransform(BitBoard board, int winLength) {
+        int best = 0;
+        long bestHash = hash(board, winLength, 0);
+        for (int t = 1; t < COUNT; t++) {
+            long h = hash(board, winLength, t);
+            if (Long.compareUnsigned(h, bestHash) < 0) {
+                bestHash = h;
+                best = t;
+            }
+        }
+        return best;
+    }
+
+    public BitBoard transform(BitBoard board, int transform) {
+        BitBoard result = new BitBoard(board.getCells());
+        int[] map = forward[transform];
+        for (int pos = 0; pos < map.length; pos++) {
+            int owner = board.owner(pos);
+            if (owner != -1) {
+                result.place(owner, map[pos]);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,37 @@
+package com.tictactoe.engine;
+
+import java.util.SplittableRandom;
+
+// Fixed-seed Zobrist keys, one per (player, cell), plus a side-to-move key
+public final class Zobrist {
+    public static final int MAX_CELLS = 32 * 32;
+
+    private static final long[] KEYS = new long[2 * MAX_CELLS];
+    private static final long SIDE;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x7AC7AC70EL);
+        for (int i = 0; i < KEYS.length; i++) {
+            KEYS[i] = random.nextLong();
+        }
+        SIDE = random.nextLong();
+    }
+
+    private Zobrist() {}
+
+    public static long key(int player, int pos) {
+        return KEYS[player * MAX_CELLS + pos];
+    }
+
+    public static long side(int player) {
+        return player == BitBoard.O ? SIDE : 0L;
+    }
+
+    // Separates positions of different (boardSize, winLength) configurations
+    public static long config(int boardSize, int winLength) {
+        long z = (long) boardSize << 32 | winLength;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
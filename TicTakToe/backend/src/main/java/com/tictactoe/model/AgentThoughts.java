@@ -1,22 +1,46 @@
 package com.tictactoe.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class AgentThoughts {
+    private final Verbosity verbosity;
+    // Created on the first thought, so moves without thoughts allocate nothing
     private List<Thought> thoughts;
     private int chosenMove;
     private String reason;
+    // Budget the move was given (0 = none) and what it used
+    private long timeBudgetMs;
+    private long nodeBudget;
+    private double elapsedMs;
+    private long nodesUsed;
+    private boolean budgetExhausted;
 
     public AgentThoughts() {
-        this.thoughts = new ArrayList<>();
+        this(Verbosity.FULL);
+    }
+
+    public AgentThoughts(Verbosity verbosity) {
+        this.verbosity = verbosity;
     }
 
+    // Strategies check these before formatting anything
+    @JsonIgnore
+    public boolean isSummary() { return verbosity.summary(); }
+    @JsonIgnore
+    public boolean isFull() { return verbosity.full(); }
+
     public void addThought(String text, String type) {
+        if (thoughts == null) {
+            thoughts = new ArrayList<>();
+        }
         thoughts.add(new Thought(text, type));
     }
 
-    public List<Thought> getThoughts() { return thoughts; }
+    public List<Thought> getThoughts() { return thoughts == null ? Collections.emptyList() : thoughts; }
     public void setThoughts(List<Thought> thoughts) { this.thoughts = thoughts; }
 
     public int getChosenMove() { return chosenMove; }
@@ -25,6 +49,29 @@ public class AgentThoughts {
     public String getReason() { return reason; }
     public void setReason(String reason) { this.reason = reason; }
 
+    public long getTimeBudgetMs() { return timeBudgetMs; }
+    public void setTimeBudgetMs(long timeBudgetMs) { this.timeBudgetMs = timeBudgetMs; }
+
+    public long getNodeBudget() { return nodeBudget; }
+    public void setNodeBudget(long nodeBudget) { this.nodeBudget = nodeBudget; }
+
+    public double getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(double elapsedMs) { this.elapsedMs = elapsedMs; }
+
+    public long getNodesUsed() { return nodesUsed; }
+    public void setNodesUsed(long nodesUsed) { this.nodesUsed = nodesUsed; }
+
+    public boolean isBudgetExhausted() { return budgetExhausted; }
+    public void setBudgetExhausted(boolean budgetExhausted) { this.budgetExhausted = budgetExhausted; }
+
+    public void recordBudget(MoveBudget budget, long elapsedNanos, long nodes, boolean exhausted) {
+        this.timeBudgetMs = budget.getTimeMs();
+        this.nodeBudget = budget.getNodes();
+        this.elapsedMs = elapsedNanos / 1e6;
+        this.nodesUsed = nodes;
+        this.budgetExhausted = exhausted;
+    }
+
     public static class Thought {
         private String text;
         private String type;
@@ -0,0 +1,68 @@
+package com.tictactoe.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Base64;
+
+// GameState without player descriptions or thoughts, with the board bit-packed
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CompactGameState {
+    private String gameId;
+    private long version;
+    private int boardSize;
+    private int winLength;
+    private String currentPlayer;
+    private boolean gameOver;
+    private String winner;
+    private String status;
+    private String board;
+    private int[] winningPattern;
+
+    public CompactGameState() {}
+
+    public CompactGameState(GameState state) {
+        this.gameId = state.getGameId();
+        this.version = state.getVersion();
+        this.boardSize = state.getBoardSize();
+        this.winLength = state.getWinLength();
+        this.currentPlayer = state.getCurrentPlayer();
+        this.gameOver = state.isGameOver();
+        this.winner = state.getWinner();
+        this.status = state.getStatus();
+        this.board = Base64.getEncoder().encodeToString(state.getBitBoard().pack());
+        if (state.getWinningPattern() != null) {
+            this.winningPattern = state.getWinningPattern().stream().mapToInt(cell -> cell[0]).toArray();
+        }
+    }
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public int getBoardSize() { return boardSize; }
+    public void setBoardSize(int boardSize) { this.boardSize = boardSize; }
+
+    public int getWinLength() { return winLength; }
+    public void setWinLength(int winLength) { this.winLength = winLength; }
+
+    public String getCurrentPlayer() { return currentPlayer; }
+    public void setCurrentPlayer(String currentPlayer) { this.currentPlayer = currentPlayer; }
+
+    public boolean isGameOver() { return gameOver; }
+    public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
+
+    public String getWinner() { return winner; }
+    public void setWinner(String winner) { this.winner = winner; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    // Base64 of BitBoard.pack()
+    public String getBoard() { return board; }
+    public void setBoard(String board) { this.board = board; }
+
+    public int[] getWinningPattern() { return winningPattern; }
+    public void setWinningPattern(int[] winningPattern) { this.winningPattern = winningPattern; }
+}
@@ -1,14 +1,27 @@
 package com.tictactoe.model;
 
 public class GameConfig {
+    public static final int MIN_BOARD_SIZE = 3;
+    public static final int MAX_BOARD_SIZE = 19;
+
     private int boardSize;
     private int winLength;
     private int humanPlayers;
+    private String aiStrategy;
+    // Per-move AI budget, 0 for the server default
+    private long moveTimeMs;
+    private long moveNodes;
+    // How much reasoning AI moves report; headless clients can skip it entirely
+    private Verbosity thoughts;
+    // Replays the game's random choices; null picks a fresh seed
+    private Long seed;
 
     public GameConfig() {
         this.boardSize = 3;
         this.winLength = 3;
         this.humanPlayers = 0;
+        this.aiStrategy = "heuristic";
+        this.thoughts = Verbosity.FULL;
     }
 
     public int getBoardSize() { return boardSize; }
@@ -19,4 +32,27 @@ public class GameConfig {
 
     public int getHumanPlayers() { return humanPlayers; }
     public void setHumanPlayers(int humanPlayers) { this.humanPlayers = humanPlayers; }
+
+    public static int clampBoardSize(int boardSize) {
+        return Math.max(MIN_BOARD_SIZE, Math.min(boardSize, MAX_BOARD_SIZE));
+    }
+
+    public static int clampWinLength(int winLength, int boardSize) {
+        return Math.max(MIN_BOARD_SIZE, Math.min(winLength, boardSize));
+    }
+
+    public String getAiStrategy() { return aiStrategy; }
+    public void setAiStrategy(String aiStrategy) { this.aiStrategy = aiStrategy; }
+
+    public long getMoveTimeMs() { return moveTimeMs; }
+    public void setMoveTimeMs(long moveTimeMs) { this.moveTimeMs = moveTimeMs; }
+
+    public long getMoveNodes() { return moveNodes; }
+    public void setMoveNodes(long moveNodes) { this.moveNodes = moveNodes; }
+
+    public Verbosity getThoughts() { return thoughts; }
+    public void setThoughts(Verbosity thoughts) { this.thoughts = thoughts; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
 }
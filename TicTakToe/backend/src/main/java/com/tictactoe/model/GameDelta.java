@@ -0,0 +1,57 @@
+package com.tictactoe.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// What one request changed in a game, sent instead of the whole GameState
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GameDelta {
+    public static final String MOVE = "move";
+    public static final String RESET = "reset";
+    // The request was rejected or it was not the AI's turn
+    public static final String UNCHANGED = "unchanged";
+
+    private String gameId;
+    private String type;
+    private long version;
+    private int position;
+    private String player;
+    private String currentPlayer;
+    private String status;
+    private boolean gameOver;
+    private String winner;
+    private int[] winningPattern;
+    private AgentThoughts thoughts;
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public String getType() { return type; }
+    public void setType(String type) { this.type = type; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public int getPosition() { return position; }
+    public void setPosition(int position) { this.position = position; }
+
+    public String getPlayer() { return player; }
+    public void setPlayer(String player) { this.player = player; }
+
+    public String getCurrentPlayer() { return currentPlayer; }
+    public void setCurrentPlayer(String currentPlayer) { this.currentPlayer = currentPlayer; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public boolean isGameOver() { return gameOver; }
+    public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
+
+    public String getWinner() { return winner; }
+    public void setWinner(String winner) { this.winner = winner; }
+
+    public int[] getWinningPattern() { return winningPattern; }
+    public void setWinningPattern(int[] winningPattern) { this.winningPattern = winningPattern; }
+
+    public AgentThoughts getThoughts() { return thoughts; }
+    public void setThoughts(AgentThoughts thoughts) { this.thoughts = thoughts; }
+}
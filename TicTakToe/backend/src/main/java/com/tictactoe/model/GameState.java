@@ -1,10 +1,19 @@
 package com.tictactoe.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.Seeds;
+
 import java.util.ArrayList;
 import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class GameState {
-    private String[] board;
+    private String gameId;
+    // Bumped on every move and reset
+    private long version;
+    private BitBoard bitBoard;
     private int boardSize;
     private int winLength;
     private String currentPlayer;
@@ -12,6 +21,14 @@ public class GameState {
     private String winner;
     private String status;
     private int humanPlayers;
+    private String aiStrategy;
+    private long moveTimeMs;
+    private long moveNodes;
+    private Verbosity thoughts = Verbosity.FULL;
+    // Every random choice in the game derives from it; 53 bits so JavaScript clients can echo it back
+    private long seed = ThreadLocalRandom.current().nextLong() >>> 11;
+    // Explicit resets so far; with the ply it picks the random stream, so no two rounds repeat
+    private int round;
     private boolean humanGoesFirst;
     private List<Boolean> firstPlayerHistory;
     private PlayerConfig playerX;
@@ -27,26 +44,76 @@ public class GameState {
         reset();
     }
 
+    private GameState(GameState other) {
+        this.gameId = other.gameId;
+        this.version = other.version;
+        this.bitBoard = other.bitBoard.copy();
+        this.boardSize = other.boardSize;
+        this.winLength = other.winLength;
+        this.currentPlayer = other.currentPlayer;
+        this.gameOver = other.gameOver;
+        this.winner = other.winner;
+        this.status = other.status;
+        this.humanPlayers = other.humanPlayers;
+        this.aiStrategy = other.aiStrategy;
+        this.moveTimeMs = other.moveTimeMs;
+        this.moveNodes = other.moveNodes;
+        this.thoughts = other.thoughts;
+        this.seed = other.seed;
+        this.round = other.round;
+        this.humanGoesFirst = other.humanGoesFirst;
+        this.firstPlayerHistory = List.copyOf(other.firstPlayerHistory);
+        // Replaced rather than modified by the game, so they can be shared
+        this.playerX = other.playerX;
+        this.playerO = other.playerO;
+        this.winningPattern = other.winningPattern;
+        this.lastThoughts = other.lastThoughts;
+    }
+
+    // A copy with its own board, for readers that must not see later or speculative moves
+    public GameState snapshot() {
+        return new GameState(this);
+    }
+
+    // Random stream for the AI move at ply of the current round: a function of the seed, round
+    // and ply alone, so the same seed and moves replay the same game, also from the move log
+    public SplittableRandom random(int ply) {
+        return Seeds.stream(seed, (long) round << 32 | (ply + 1));
+    }
+
     public void reset() {
-        this.board = new String[boardSize * boardSize];
-        for (int i = 0; i < board.length; i++) {
-            board[i] = "";
+        clearBoard();
+        if (humanPlayers == 1) {
+            decideWhoGoesFirst();
         }
+        configurePlayers();
+    }
+
+    // Rebuilds an empty game with a known first player, for games read back from the move log
+    public void restore(int boardSize, int winLength, int humanPlayers, boolean humanGoesFirst) {
+        this.boardSize = boardSize;
+        this.winLength = Math.min(winLength, boardSize);
+        this.humanPlayers = humanPlayers;
+        this.humanGoesFirst = humanGoesFirst;
+        clearBoard();
+        configurePlayers();
+    }
+
+    private void clearBoard() {
+        this.bitBoard = new BitBoard(boardSize * boardSize);
         this.currentPlayer = "X";
         this.gameOver = false;
         this.winner = null;
         this.status = "Game started";
         this.winningPattern = null;
         this.lastThoughts = null;
-        configurePlayersForNewGame();
     }
 
-    private void configurePlayersForNewGame() {
+    private void configurePlayers() {
         if (humanPlayers == 0) {
             playerX = new PlayerConfig(false, "Strategic Agent", "Thinks ahead, blocks threats");
             playerO = new PlayerConfig(false, "Defensive Agent", "Analyzes board, counters moves");
         } else if (humanPlayers == 1) {
-            decideWhoGoesFirst();
             if (humanGoesFirst) {
                 playerX = new PlayerConfig(true, "You", "Click a cell to place your mark");
                 playerO = new PlayerConfig(false, "AI Opponent", "Strategic AI agent");
@@ -68,7 +135,7 @@ public class GameState {
         if (lastTwo.size() == 2 && lastTwo.get(0).equals(lastTwo.get(1))) {
             humanGoesFirst = !lastTwo.get(0);
         } else {
-            humanGoesFirst = Math.random() < 0.5;
+            humanGoesFirst = Seeds.stream(seed, (long) round << 32).nextBoolean();
         }
         
         firstPlayerHistory.add(humanGoesFirst);
@@ -78,8 +145,17 @@ public class GameState {
     }
 
     // Getters and Setters
-    public String[] getBoard() { return board; }
-    public void setBoard(String[] board) { this.board = board; }
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public String[] getBoard() { return bitBoard.toStrings(); }
+    public void setBoard(String[] board) { bitBoard.fromStrings(board); }
+
+    @JsonIgnore
+    public BitBoard getBitBoard() { return bitBoard; }
     
     public int getBoardSize() { return boardSize; }
     public void setBoardSize(int boardSize) { 
@@ -113,6 +189,25 @@ public class GameState {
     
     public boolean isHumanGoesFirst() { return humanGoesFirst; }
     
+    public String getAiStrategy() { return aiStrategy; }
+    public void setAiStrategy(String aiStrategy) { this.aiStrategy = aiStrategy; }
+
+    public long getMoveTimeMs() { return moveTimeMs; }
+    public void setMoveTimeMs(long moveTimeMs) { this.moveTimeMs = moveTimeMs; }
+
+    public long getMoveNodes() { return moveNodes; }
+    public void setMoveNodes(long moveNodes) { this.moveNodes = moveNodes; }
+
+    public Verbosity getThoughts() { return thoughts; }
+    public void setThoughts(Verbosity thoughts) { this.thoughts = thoughts; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    @JsonIgnore
+    public int getRound() { return round; }
+    public void setRound(int round) { this.round = round; }
+    
     public PlayerConfig getPlayerX() { return playerX; }
     public PlayerConfig getPlayerO() { return playerO; }
     
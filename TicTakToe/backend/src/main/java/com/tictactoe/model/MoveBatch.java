@@ -0,0 +1,20 @@
+package com.tictactoe.model;
+
+// Moves for one game, played in order by POST /api/game/moves
+public class MoveBatch {
+    private String gameId;
+    private int[] positions;
+
+    public MoveBatch() {}
+
+    public MoveBatch(String gameId, int[] positions) {
+        this.gameId = gameId;
+        this.positions = positions;
+    }
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public int[] getPositions() { return positions; }
+    public void setPositions(int[] positions) { this.positions = positions; }
+}
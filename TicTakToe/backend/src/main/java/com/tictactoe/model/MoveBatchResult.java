@@ -0,0 +1,60 @@
+package com.tictactoe.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Where a game stands after a MoveBatch. applied counts the moves played; when it is short of
+// the batch, positions[applied] was rejected and the moves after it were not tried.
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class MoveBatchResult {
+    private String gameId;
+    private boolean found;
+    private int applied;
+    private long version;
+    private String currentPlayer;
+    private boolean gameOver;
+    private String winner;
+    private String status;
+
+    public MoveBatchResult() {}
+
+    public MoveBatchResult(GameState state, int applied) {
+        this.gameId = state.getGameId();
+        this.found = true;
+        this.applied = applied;
+        this.version = state.getVersion();
+        this.currentPlayer = state.getCurrentPlayer();
+        this.gameOver = state.isGameOver();
+        this.winner = state.getWinner();
+        this.status = state.getStatus();
+    }
+
+    public static MoveBatchResult notFound(String gameId) {
+        MoveBatchResult result = new MoveBatchResult();
+        result.setGameId(gameId);
+        return result;
+    }
+
+    public String getGameId() { return gameId; }
+    public void setGameId(String gameId) { this.gameId = gameId; }
+
+    public boolean isFound() { return found; }
+    public void setFound(boolean found) { this.found = found; }
+
+    public int getApplied() { return applied; }
+    public void setApplied(int applied) { this.applied = applied; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+
+    public String getCurrentPlayer() { return currentPlayer; }
+    public void setCurrentPlayer(String currentPlayer) { this.currentPlayer = currentPlayer; }
+
+    public boolean isGameOver() { return gameOver; }
+    public void setGameOver(boolean gameOver) { this.gameOver = gameOver; }
+
+    public String getWinner() { return winner; }
+    public void setWinner(String winner) { this.winner = winner; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
@@ -0,0 +1,48 @@
+package com.tictactoe.model;
+
+// Per-move limit on AI effort; 0 leaves that dimension to the strategy's default
+public final class MoveBudget {
+    public static final MoveBudget DEFAULT = new MoveBudget(0, 0, false, 0);
+
+    private final long timeMs;
+    private final long nodes;
+    // Hard stop as a System.nanoTime() value, on top of the limits above; the server sets
+    // it so a move never runs past its request deadline
+    private final boolean hasDeadline;
+    private final long deadline;
+
+    private MoveBudget(long timeMs, long nodes, boolean hasDeadline, long deadline) {
+        this.timeMs = timeMs;
+        this.nodes = nodes;
+        this.hasDeadline = hasDeadline;
+        this.deadline = deadline;
+    }
+
+    public static MoveBudget of(long timeMs, long nodes) {
+        return timeMs <= 0 && nodes <= 0 ? DEFAULT : new MoveBudget(Math.max(0, timeMs), Math.max(0, nodes), false, 0);
+    }
+
+    public long getTimeMs() { return timeMs; }
+    public long getNodes() { return nodes; }
+
+    public boolean hasTimeLimit() { return timeMs > 0; }
+    public boolean hasNodeLimit() { return nodes > 0; }
+
+    public boolean hasDeadline() { return hasDeadline; }
+    public long getDeadline() { return deadline; }
+
+    public MoveBudget capTime(long maxTimeMs) {
+        return hasTimeLimit() && timeMs > maxTimeMs ? new MoveBudget(maxTimeMs, nodes, hasDeadline, deadline) : this;
+    }
+
+    // The same budget, stopped at deadlineNanos at the latest
+    public MoveBudget until(long deadlineNanos) {
+        return hasDeadline && deadline - deadlineNanos <= 0 ? this : new MoveBudget(timeMs, nodes, true, deadlineNanos);
+    }
+
+    // The earlier of start + timeNanos and the hard deadline
+    public long stopAt(long start, long timeNanos) {
+        long stop = start + timeNanos;
+        return hasDeadline && deadline - stop < 0 ? deadline : stop;
+    }
+}
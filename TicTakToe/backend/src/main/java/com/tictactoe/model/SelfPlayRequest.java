@@ -0,0 +1,46 @@
+package com.tictactoe.model;
+
+public class SelfPlayRequest {
+    private int boardSize;
+    private int winLength;
+    private int games;
+    private String strategyX;
+    private String strategyO;
+    // Per-move AI budget, 0 for the strategy default
+    private long moveTimeMs;
+    private long moveNodes;
+    // Replays the whole run; null picks a fresh seed
+    private Long seed;
+
+    public SelfPlayRequest() {
+        this.boardSize = 3;
+        this.winLength = 3;
+        this.games = 1000;
+        this.strategyX = "heuristic";
+        this.strategyO = "heuristic";
+    }
+
+    public int getBoardSize() { return boardSize; }
+    public void setBoardSize(int boardSize) { this.boardSize = boardSize; }
+
+    public int getWinLength() { return winLength; }
+    public void setWinLength(int winLength) { this.winLength = winLength; }
+
+    public int getGames() { return games; }
+    public void setGames(int games) { this.games = games; }
+
+    public String getStrategyX() { return strategyX; }
+    public void setStrategyX(String strategyX) { this.strategyX = strategyX; }
+
+    public String getStrategyO() { return strategyO; }
+    public void setStrategyO(String strategyO) { this.strategyO = strategyO; }
+
+    public long getMoveTimeMs() { return moveTimeMs; }
+    public void setMoveTimeMs(long moveTimeMs) { this.moveTimeMs = moveTimeMs; }
+
+    public long getMoveNodes() { return moveNodes; }
+    public void setMoveNodes(long moveNodes) { this.moveNodes = moveNodes; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+}
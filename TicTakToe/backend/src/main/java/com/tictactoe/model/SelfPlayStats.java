@@ -0,0 +1,83 @@
+package com.tictactoe.model;
+
+// Progress of a self-play job; the rates cover the games played so far
+public class SelfPlayStats {
+    public static final String RUNNING = "running";
+    public static final String DONE = "done";
+    public static final String CANCELLED = "cancelled";
+    public static final String FAILED = "failed";
+
+    private String jobId;
+    private String status;
+    private int boardSize;
+    private int winLength;
+    private String strategyX;
+    private String strategyO;
+    private long games;
+    private long gamesPlayed;
+    // Passing it back in the request replays the run
+    private long seed;
+    private long winsX;
+    private long winsO;
+    private long draws;
+    private double winRateX;
+    private double winRateO;
+    private double drawRate;
+    private double averagePlies;
+    private double movesPerSecond;
+    private long elapsedMs;
+
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public int getBoardSize() { return boardSize; }
+    public void setBoardSize(int boardSize) { this.boardSize = boardSize; }
+
+    public int getWinLength() { return winLength; }
+    public void setWinLength(int winLength) { this.winLength = winLength; }
+
+    public String getStrategyX() { return strategyX; }
+    public void setStrategyX(String strategyX) { this.strategyX = strategyX; }
+
+    public String getStrategyO() { return strategyO; }
+    public void setStrategyO(String strategyO) { this.strategyO = strategyO; }
+
+    public long getGames() { return games; }
+    public void setGames(long games) { this.games = games; }
+
+    public long getGamesPlayed() { return gamesPlayed; }
+    public void setGamesPlayed(long gamesPlayed) { this.gamesPlayed = gamesPlayed; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public long getWinsX() { return winsX; }
+    public void setWinsX(long winsX) { this.winsX = winsX; }
+
+    public long getWinsO() { return winsO; }
+    public void setWinsO(long winsO) { this.winsO = winsO; }
+
+    public long getDraws() { return draws; }
+    public void setDraws(long draws) { this.draws = draws; }
+
+    public double getWinRateX() { return winRateX; }
+    public void setWinRateX(double winRateX) { this.winRateX = winRateX; }
+
+    public double getWinRateO() { return winRateO; }
+    public void setWinRateO(double winRateO) { this.winRateO = winRateO; }
+
+    public double getDrawRate() { return drawRate; }
+    public void setDrawRate(double drawRate) { this.drawRate = drawRate; }
+
+    public double getAveragePlies() { return averagePlies; }
+    public void setAveragePlies(double averagePlies) { this.averagePlies = averagePlies; }
+
+    public double getMovesPerSecond() { return movesPerSecond; }
+    public void setMovesPerSecond(double movesPerSecond) { this.movesPerSecond = movesPerSecond; }
+
+    public long getElapsedMs() { return elapsedMs; }
+    public void setElapsedMs(long elapsedMs) { this.elapsedMs = elapsedMs; }
+}
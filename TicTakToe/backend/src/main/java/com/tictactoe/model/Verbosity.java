@@ -0,0 +1,32 @@
+package com.tictactoe.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+// How much of its reasoning the AI writes into AgentThoughts
+public enum Verbosity {
+    // The chosen move and budget figures only; the reason is a fixed label
+    NONE,
+    // Adds a formatted reason, such as the forced-win distance or search depth
+    SUMMARY,
+    // Adds the step-by-step thoughts shown in the UI
+    FULL;
+
+    public boolean summary() { return this != NONE; }
+    public boolean full() { return this == FULL; }
+
+    @JsonValue
+    public String value() {
+        return name().toLowerCase();
+    }
+
+    @JsonCreator
+    public static Verbosity of(String value) {
+        for (Verbosity verbosity : values()) {
+            if (verbosity.name().equalsIgnoreCase(value)) {
+                return verbosity;
+            }
+        }
+        return FULL;
+    }
+}
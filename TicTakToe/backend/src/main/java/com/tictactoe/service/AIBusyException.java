@@ -0,0 +1,11 @@
+package com.tictactoe.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class AIBusyException extends RuntimeException {
+    public AIBusyException(String message) {
+        super(message);
+    }
+}
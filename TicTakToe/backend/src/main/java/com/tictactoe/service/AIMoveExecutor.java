@@ -0,0 +1,86 @@
+package com.tictactoe.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+
+/**
+ * Runs AI moves off the servlet threads on a fixed pool with a bounded queue. A full
+ * queue is rejected straight away and every move has a deadline, so slow boards turn
+ * into quick 503s instead of piling up behind cheap requests. A move still queued at its
+ * deadline is dropped; a move already running is handed the deadline and must stop by
+ * then, so its caller always learns whether it was played.
+ */
+@Component
+public class AIMoveExecutor {
+    private final ThreadPoolExecutor executor;
+    private final long deadlineMs;
+
+    public AIMoveExecutor(@Value("${tictactoe.ai.executor.threads:0}") int threads,
+                          @Value("${tictactoe.ai.executor.queue-capacity:256}") int queueCapacity,
+                          @Value("${tictactoe.ai.executor.deadline-ms:10000}") long deadlineMs) {
+        int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(size, size, 0, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "ai-move-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+        this.deadlineMs = deadlineMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // task gets the deadline as a System.nanoTime() value. Fails with AIBusyException when
+    // the queue is full or the deadline passes before the task starts.
+    public <T> CompletableFuture<T> submit(LongFunction<T> task) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMs);
+        // Claimed by whichever comes first, the task starting or the deadline passing
+        AtomicBoolean claimed = new AtomicBoolean();
+        try {
+            executor.execute(() -> {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                // The timer can run late; a task started past its deadline is dropped too
+                if (System.nanoTime() - deadline >= 0) {
+                    result.completeExceptionally(busy());
+                    return;
+                }
+                try {
+                    result.complete(task.apply(deadline));
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(new AIBusyException("Too many AI moves in progress, try again shortly"));
+            return result;
+        }
+        CompletableFuture.delayedExecutor(deadlineMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                result.completeExceptionally(busy());
+            }
+        });
+        return result;
+    }
+
+    private AIBusyException busy() {
+        return new AIBusyException("AI move did not start within " + deadlineMs + " ms");
+    }
+
+    public int getQueued() { return executor.getQueue().size(); }
+    public int getActive() { return executor.getActiveCount(); }
+}
@@ -0,0 +1,119 @@
+package com.tictactoe.service;
+
+import com.tictactoe.ai.MoveStats;
+import com.tictactoe.ai.MoveStats.Phase;
+import io.micrometer.core.instrument.*;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters for AI moves. Meters are registered once per (boardSize, winLength,
+ * strategy) and handed to the game session, so recording a move is a handful of counter
+ * and timer updates with no registry lookups or tag allocation. Percentile histograms are
+ * opt-in, since they cost buckets per series and are updated whether or not anyone
+ * scrapes them.
+ */
+@Component
+public class GameMetrics {
+    private final MeterRegistry registry;
+    private final boolean histograms;
+    private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+    public GameMetrics(MeterRegistry registry,
+                       @Value("${tictactoe.metrics.histograms:false}") boolean histograms) {
+        this.registry = registry;
+        this.histograms = histograms;
+    }
+
+    public Meters forGame(int boardSize, int winLength, String strategy) {
+        return meters.computeIfAbsent(boardSize + ":" + winLength + ":" + strategy,
+            key -> new Meters(registry, histograms, Tags.of(
+                "boardSize", String.valueOf(boardSize),
+                "winLength", String.valueOf(winLength),
+                "strategy", strategy)));
+    }
+
+    public static final class Meters {
+        private final MeterRegistry registry;
+        private final boolean histograms;
+        private final Tags tags;
+        private final Timer move;
+        // Created on first use so strategies only export the phases they run
+        private final Timer[] phases = new Timer[MoveStats.phases().length];
+        private final Counter[] decisions = new Counter[MoveStats.phases().length];
+        private final DistributionSummary patternsScanned;
+        private final Counter positionsEvaluated;
+
+        private Meters(MeterRegistry registry, boolean histograms, Tags tags) {
+            this.registry = registry;
+            this.histograms = histograms;
+            this.tags = tags;
+            this.move = timer("tictactoe.ai.move", "Time to choose an AI move").register(registry);
+            this.patternsScanned = DistributionSummary.builder("tictactoe.ai.patterns.scanned")
+                .description("Win patterns examined per move")
+                .tags(tags)
+                .register(registry);
+            this.positionsEvaluated = Counter.builder("tictactoe.ai.positions.evaluated")
+                .description("Candidate positions evaluated or searched")
+                .tags(tags)
+                .register(registry);
+        }
+
+        private Timer.Builder timer(String name, String description) {
+            Timer.Builder builder = Timer.builder(name)
+                .description(description)
+                .tags(tags);
+            if (histograms) {
+                builder.publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(100))
+                    .maximumExpectedValue(Duration.ofSeconds(10));
+            }
+            return builder;
+        }
+
+        public void record(MoveStats stats, long moveNanos) {
+            move.record(moveNanos, TimeUnit.NANOSECONDS);
+            for (Phase phase : MoveStats.phases()) {
+                long nanos = stats.getPhaseNanos(phase);
+                if (nanos >= 0) {
+                    phase(phase).record(nanos, TimeUnit.NANOSECONDS);
+                }
+            }
+            if (stats.getDecidedBy() != null) {
+                decision(stats.getDecidedBy()).increment();
+            }
+            patternsScanned.record(stats.getPatternsScanned());
+            positionsEvaluated.increment(stats.getPositionsEvaluated());
+        }
+
+        // Racing threads register the same meter, the registry returns the existing one
+        private Timer phase(Phase phase) {
+            Timer timer = phases[phase.ordinal()];
+            if (timer == null) {
+                timer = timer("tictactoe.ai.phase", "Time spent in one decision phase")
+                    .tag("phase", phase.getTag())
+                    .register(registry);
+                phases[phase.ordinal()] = timer;
+            }
+            return timer;
+        }
+
+        private Counter decision(Phase phase) {
+            Counter counter = decisions[phase.ordinal()];
+            if (counter == null) {
+                counter = Counter.builder("tictactoe.ai.decisions")
+                    .description("Moves by the phase that produced them")
+                    .tags(tags)
+                    .tag("phase", phase.getTag())
+                    .register(registry);
+                decisions[phase.ordinal()] = counter;
+            }
+            return counter;
+        }
+    }
+}
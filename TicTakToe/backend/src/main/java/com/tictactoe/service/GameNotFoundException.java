@@ -0,0 +1,11 @@
+package com.tictactoe.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class GameNotFoundException extends RuntimeException {
+    public GameNotFoundException(String gameId) {
+        super("Game not found: " + gameId);
+    }
+}
@@ -0,0 +1,121 @@
+package com.tictactoe.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+@Component
+public class GameRegistry {
+
+    private final Map<String, GameSession> games = new ConcurrentHashMap<>();
+    // Games in roughly least recently used order, for evicting at the cap. Access does not
+    // move a game; one used since it was queued goes to the back when it reaches the front
+    // (second chance), so an eviction costs O(1) amortized. Removed games are skipped when
+    // reached and purged by the idle sweep.
+    private final Queue<GameSession> evictionQueue = new ConcurrentLinkedQueue<>();
+    private final long idleTtlNanos;
+    private final int maxGames;
+    // Told the id of every game that leaves the registry
+    private volatile Consumer<String> removalListener = id -> { };
+
+    public GameRegistry(@Value("${tictactoe.games.idle-ttl-minutes:30}") long idleTtlMinutes,
+                        @Value("${tictactoe.games.max-games:10000}") int maxGames) {
+        this.idleTtlNanos = TimeUnit.MINUTES.toNanos(idleTtlMinutes);
+        this.maxGames = maxGames;
+    }
+
+    public GameSession create() {
+        while (games.size() >= maxGames && evictLeastRecentlyUsed()) {
+            // keep making room until we are under the cap
+        }
+        GameSession session = new GameSession(UUID.randomUUID().toString());
+        games.put(session.getId(), session);
+        enqueue(session);
+        return session;
+    }
+
+    // Puts back a game read from the move log, replacing any earlier copy
+    public void restore(GameSession session) {
+        games.put(session.getId(), session);
+        enqueue(session);
+    }
+
+    public GameSession get(String gameId) {
+        GameSession session = gameId == null ? null : games.get(gameId);
+        if (session == null) {
+            throw new GameNotFoundException(gameId);
+        }
+        session.touch();
+        return session;
+    }
+
+    // Like get, but returns null for unknown ids and leaves the access time alone
+    GameSession find(String gameId) {
+        return games.get(gameId);
+    }
+
+    public void remove(String gameId) {
+        if (games.remove(gameId) != null) {
+            removalListener.accept(gameId);
+        }
+    }
+
+    public int size() {
+        return games.size();
+    }
+
+    public Collection<GameSession> sessions() {
+        return games.values();
+    }
+
+    public void setRemovalListener(Consumer<String> removalListener) {
+        this.removalListener = removalListener;
+    }
+
+    @Scheduled(fixedDelayString = "${tictactoe.games.sweep-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        for (GameSession session : games.values()) {
+            if (now - session.getLastAccess() > idleTtlNanos && games.remove(session.getId(), session)) {
+                removalListener.accept(session.getId());
+            }
+        }
+        evictionQueue.removeIf(this::isRemoved);
+    }
+
+    private void enqueue(GameSession session) {
+        session.setQueuedAccess(session.getLastAccess());
+        evictionQueue.offer(session);
+    }
+
+    private boolean isRemoved(GameSession session) {
+        return games.get(session.getId()) != session;
+    }
+
+    private boolean evictLeastRecentlyUsed() {
+        GameSession session;
+        while ((session = evictionQueue.poll()) != null) {
+            if (isRemoved(session)) {
+                continue;
+            }
+            long lastAccess = session.getLastAccess();
+            if (lastAccess != session.getQueuedAccess()) {
+                session.setQueuedAccess(lastAccess);
+                evictionQueue.offer(session);
+            } else if (games.remove(session.getId(), session)) {
+                removalListener.accept(session.getId());
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,62 +1,304 @@
 package com.tictactoe.service;
 
+import com.tictactoe.ai.AIStrategy;
+import com.tictactoe.ai.HeuristicStrategy;
+import com.tictactoe.ai.MoveStats;
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
 import com.tictactoe.model.*;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.util.*;
+import java.util.function.IntSupplier;
 
 @Service
 public class GameService {
     
-    private GameState gameState = new GameState();
-    private List<int[]> winPatterns = new ArrayList<>();
+    private final GameRegistry registry;
+    private final GameMetrics metrics;
+    private final MoveLog moveLog;
+    private final Map<String, AIStrategy> strategies = new HashMap<>();
+    // Upper bound on any requested per-move time budget
+    private final long maxMoveTimeMs;
+    // Upper bound on the moves in one /moves request, summed over its batches
+    private final int maxMovesPerRequest;
+
+    public GameService(GameRegistry registry, List<AIStrategy> strategies, GameMetrics metrics, MoveLog moveLog,
+                       @Value("${tictactoe.ai.max-move-time-ms:10000}") long maxMoveTimeMs,
+                       @Value("${tictactoe.moves.max-per-request:10000}") int maxMovesPerRequest) {
+        this.registry = registry;
+        this.metrics = metrics;
+        this.moveLog = moveLog;
+        this.maxMoveTimeMs = maxMoveTimeMs;
+        this.maxMovesPerRequest = maxMovesPerRequest;
+        for (AIStrategy strategy : strategies) {
+            this.strategies.put(strategy.getName(), strategy);
+        }
+    }
+
+    // Rebuilds the games in the move log; replayed moves go through the normal rules but
+    // are not logged again.
+    //
+    // Every change below publishes the game's snapshot before it is logged: MoveLog.snapshot
+    // reads published snapshots without the game lock after starting a new segment, so a
+    // change missing from its snapshot is logged to the new segment.
+    @PostConstruct
+    public void recover() {
+        moveLog.recover(new MoveLog.Replay() {
+            @Override
+            public void game(GameState state) {
+                GameSession existing = registry.find(state.getGameId());
+                if (existing == null || existing.getState().getVersion() < state.getVersion()) {
+                    GameSession game = new GameSession(state.getGameId(), state);
+                    loadWinPatterns(game);
+                    restoreWinningPattern(game);
+                    registry.restore(game);
+                }
+            }
+
+            @Override
+            public void move(String gameId, long version, int position) {
+                GameSession game = registry.find(gameId);
+                // Moves a snapshot already contains are skipped
+                if (game != null && game.getState().getVersion() < version && makeMove(game, position)) {
+                    game.getState().setVersion(version);
+                }
+            }
+
+            @Override
+            public void remove(String gameId) {
+                registry.remove(gameId);
+            }
+        });
+        registry.sessions().forEach(GameSession::publishSnapshot);
+    }
 
-    public GameState getGameState() {
-        return gameState;
+    // The last published snapshot; never waits for a move in progress
+    public GameState getGameState(String gameId) {
+        return registry.get(gameId).getSnapshot();
     }
 
     public GameState newGame(GameConfig config) {
-        gameState.setBoardSize(config.getBoardSize());
-        gameState.setWinLength(Math.min(config.getWinLength(), config.getBoardSize()));
-        gameState.setHumanPlayers(config.getHumanPlayers());
-        generateWinPatterns();
-        return gameState;
+        GameSession game = registry.create();
+        game.getLock().lock();
+        try {
+            GameState gameState = game.getState();
+            // Before the players are set up, since the seed picks who goes first
+            if (config.getSeed() != null) {
+                gameState.setSeed(config.getSeed());
+            }
+            int boardSize = GameConfig.clampBoardSize(config.getBoardSize());
+            gameState.setBoardSize(boardSize);
+            gameState.setWinLength(GameConfig.clampWinLength(config.getWinLength(), boardSize));
+            gameState.setHumanPlayers(config.getHumanPlayers());
+            gameState.setAiStrategy(strategies.containsKey(config.getAiStrategy())
+                ? config.getAiStrategy()
+                : HeuristicStrategy.NAME);
+            gameState.setMoveTimeMs(Math.max(0, config.getMoveTimeMs()));
+            gameState.setMoveNodes(Math.max(0, config.getMoveNodes()));
+            gameState.setThoughts(config.getThoughts() != null ? config.getThoughts() : Verbosity.FULL);
+            loadWinPatterns(game);
+            gameState.setVersion(gameState.getVersion() + 1);
+            game.publishSnapshot();
+            moveLog.logGame(gameState);
+            return game.getSnapshot();
+        } finally {
+            game.getLock().unlock();
+        }
+    }
+
+    public GameState resetGame(String gameId) {
+        GameSession game = registry.get(gameId);
+        GameDelta delta;
+        game.getLock().lock();
+        try {
+            GameState gameState = game.getState();
+            gameState.setRound(gameState.getRound() + 1);
+            gameState.reset();
+            loadWinPatterns(game);
+            gameState.setVersion(gameState.getVersion() + 1);
+            game.publishSnapshot();
+            moveLog.logGame(gameState);
+            delta = game.hasListeners() ? delta(game, GameDelta.RESET, -1, null) : null;
+        } finally {
+            game.getLock().unlock();
+        }
+        game.publish(delta);
+        return game.getSnapshot();
+    }
+
+    public GameState makeMove(String gameId, int position) {
+        GameSession game = registry.get(gameId);
+        play(game, false, () -> makeMove(game, position) ? position : -1);
+        return game.getSnapshot();
     }
 
-    public GameState resetGame() {
-        gameState.reset();
-        generateWinPatterns();
-        return gameState;
+    public GameDelta makeMoveDelta(String gameId, int position) {
+        GameSession game = registry.get(gameId);
+        return play(game, false, () -> makeMove(game, position) ? position : -1);
     }
 
-    public GameState makeMove(int position) {
+    // Plays each batch's moves in order, one game at a time; a game stops at its first
+    // rejected move. Unknown games are reported rather than failing the whole request.
+    // Oversized requests are refused before any game is locked; a batch counts as at least
+    // one move, so a long list of empty batches is bounded too.
+    public List<MoveBatchResult> makeMoves(List<MoveBatch> batches) {
+        long moves = 0;
+        for (MoveBatch batch : batches) {
+            moves += batch.getPositions() != null ? Math.max(1, batch.getPositions().length) : 1;
+        }
+        if (moves > maxMovesPerRequest) {
+            throw new TooManyMovesException(moves, maxMovesPerRequest);
+        }
+        List<MoveBatchResult> results = new ArrayList<>(batches.size());
+        for (MoveBatch batch : batches) {
+            results.add(makeMoves(batch));
+        }
+        return results;
+    }
+
+    // One lock acquisition for all of a game's moves; listeners still get one delta per move
+    private MoveBatchResult makeMoves(MoveBatch batch) {
+        GameSession game = batch.getGameId() == null ? null : registry.find(batch.getGameId());
+        if (game == null) {
+            return MoveBatchResult.notFound(batch.getGameId());
+        }
+        game.touch();
+        int[] positions = batch.getPositions() != null ? batch.getPositions() : new int[0];
+        List<GameDelta> deltas = null;
+        MoveBatchResult result;
+        game.getLock().lock();
+        try {
+            boolean listening = game.hasListeners();
+            long version = game.getState().getVersion();
+            int applied = 0;
+            while (applied < positions.length && makeMove(game, positions[applied])) {
+                int position = positions[applied++];
+                if (listening) {
+                    if (deltas == null) {
+                        deltas = new ArrayList<>();
+                    }
+                    deltas.add(delta(game, GameDelta.MOVE, position, null));
+                }
+            }
+            // Readers see the whole batch at once; each move is one version
+            if (applied > 0) {
+                game.publishSnapshot();
+                for (int i = 0; i < applied; i++) {
+                    moveLog.logMove(game.getId(), version + i + 1, positions[i]);
+                }
+            }
+            result = new MoveBatchResult(game.getState(), applied);
+        } finally {
+            game.getLock().unlock();
+        }
+        if (deltas != null) {
+            deltas.forEach(game::publish);
+        }
+        return result;
+    }
+
+    public GameState makeAIMove(String gameId) {
+        return makeAIMove(gameId, null);
+    }
+
+    // budget overrides the game's own per-move budget when not null
+    public GameState makeAIMove(String gameId, MoveBudget budget) {
+        GameSession game = registry.get(gameId);
+        play(game, true, () -> makeAIMove(game, budget));
+        return game.getSnapshot();
+    }
+
+    // As above, but the AI stops thinking at deadline, a System.nanoTime() value
+    public GameState makeAIMove(String gameId, MoveBudget budget, long deadline) {
+        GameSession game = registry.get(gameId);
+        play(game, true, () -> makeAIMove(game, budget, deadline));
+        return game.getSnapshot();
+    }
+
+    public GameDelta makeAIMoveDelta(String gameId) {
+        return makeAIMoveDelta(gameId, null);
+    }
+
+    public GameDelta makeAIMoveDelta(String gameId, MoveBudget budget) {
+        GameSession game = registry.get(gameId);
+        return play(game, true, () -> makeAIMove(game, budget));
+    }
+
+    public GameDelta makeAIMoveDelta(String gameId, MoveBudget budget, long deadline) {
+        GameSession game = registry.get(gameId);
+        return play(game, true, () -> makeAIMove(game, budget, deadline));
+    }
+
+    // Runs move under the game lock; it returns the cell played or -1. The delta is
+    // published to listeners once the lock is released.
+    private GameDelta play(GameSession game, boolean ai, IntSupplier move) {
+        GameDelta delta;
+        game.getLock().lock();
+        try {
+            long version = game.getState().getVersion();
+            int position = move.getAsInt();
+            if (game.getState().getVersion() != version) {
+                game.publishSnapshot();
+            }
+            if (position != -1) {
+                moveLog.logMove(game.getId(), game.getState().getVersion(), position);
+            }
+            delta = position == -1
+                ? delta(game, GameDelta.UNCHANGED, -1, null)
+                : delta(game, GameDelta.MOVE, position, ai ? game.getState().getLastThoughts() : null);
+        } finally {
+            game.getLock().unlock();
+        }
+        if (GameDelta.MOVE.equals(delta.getType())) {
+            game.publish(delta);
+        }
+        return delta;
+    }
+
+    // Returns whether the move was played
+    private boolean makeMove(GameSession game, int position) {
+        GameState gameState = game.getState();
         if (gameState.isGameOver()) {
-            return gameState;
+            return false;
         }
 
-        String[] board = gameState.getBoard();
-        if (position < 0 || position >= board.length || !board[position].isEmpty()) {
-            return gameState;
+        Position engine = game.getPosition();
+        if (position < 0 || position >= engine.getCellCount() || !engine.isEmpty(position)) {
+            return false;
         }
 
         // Make the move
-        board[position] = gameState.getCurrentPlayer();
-        gameState.setBoard(board);
+        int completed = engine.play(BitBoard.player(gameState.getCurrentPlayer()), position);
+        gameState.setVersion(gameState.getVersion() + 1);
 
         // Check for game end
-        if (checkGameEnd()) {
-            return gameState;
+        if (checkGameEnd(game, completed)) {
+            return true;
         }
 
         // Switch player
-        switchPlayer();
+        switchPlayer(gameState);
         
-        return gameState;
+        return true;
+    }
+
+    private int makeAIMove(GameSession game, MoveBudget requested, long deadline) {
+        return makeAIMove(game, (requested != null ? requested : gameBudget(game.getState())).until(deadline));
     }
 
-    public GameState makeAIMove() {
+    private static MoveBudget gameBudget(GameState gameState) {
+        return MoveBudget.of(gameState.getMoveTimeMs(), gameState.getMoveNodes());
+    }
+
+    // Returns the cell the AI played, or -1 when it was not the AI's turn
+    private int makeAIMove(GameSession game, MoveBudget requested) {
+        GameState gameState = game.getState();
         if (gameState.isGameOver()) {
-            return gameState;
+            return -1;
         }
 
         PlayerConfig currentPlayerConfig = gameState.getCurrentPlayer().equals("X") 
@@ -65,129 +307,93 @@ public class GameService {
 
         if (currentPlayerConfig.isHuman()) {
             gameState.setStatus("Waiting for human move");
-            return gameState;
+            gameState.setVersion(gameState.getVersion() + 1);
+            return -1;
         }
 
-        AgentThoughts thoughts = calculateAIMove(gameState.getCurrentPlayer());
+        int player = BitBoard.player(gameState.getCurrentPlayer());
+        AIStrategy strategy = strategies.getOrDefault(gameState.getAiStrategy(), strategies.get(HeuristicStrategy.NAME));
+        MoveBudget budget = (requested != null ? requested : gameBudget(gameState)).capTime(maxMoveTimeMs);
+        long start = System.nanoTime();
+        AgentThoughts thoughts = strategy.chooseMove(game.getPosition(), player, budget, gameState.getThoughts(),
+            gameState.random(game.getPosition().getCounters().getStones()));
+        game.getMeters().record(MoveStats.current(), System.nanoTime() - start);
         gameState.setLastThoughts(thoughts);
         
         // Make the AI move
-        String[] board = gameState.getBoard();
-        board[thoughts.getChosenMove()] = gameState.getCurrentPlayer();
-        gameState.setBoard(board);
+        int completed = game.getPosition().play(player, thoughts.getChosenMove());
+        gameState.setVersion(gameState.getVersion() + 1);
         gameState.setStatus(thoughts.getReason());
 
         // Check for game end
-        if (checkGameEnd()) {
-            return gameState;
+        if (checkGameEnd(game, completed)) {
+            return thoughts.getChosenMove();
         }
 
         // Switch player
-        switchPlayer();
+        switchPlayer(gameState);
         
-        return gameState;
-    }
-
-    private void switchPlayer() {
-        gameState.setCurrentPlayer(gameState.getCurrentPlayer().equals("X") ? "O" : "X");
+        return thoughts.getChosenMove();
     }
 
-    private void generateWinPatterns() {
-        winPatterns.clear();
-        int size = gameState.getBoardSize();
-        int len = gameState.getWinLength();
-
-        // Rows
-        for (int row = 0; row < size; row++) {
-            for (int startCol = 0; startCol <= size - len; startCol++) {
-                int[] pattern = new int[len];
-                for (int i = 0; i < len; i++) {
-                    pattern[i] = row * size + startCol + i;
-                }
-                winPatterns.add(pattern);
-            }
+    // Current status plus the move just played at position, if any
+    private GameDelta delta(GameSession game, String type, int position, AgentThoughts thoughts) {
+        GameState gameState = game.getState();
+        GameDelta delta = new GameDelta();
+        delta.setGameId(game.getId());
+        delta.setType(type);
+        delta.setVersion(gameState.getVersion());
+        delta.setPosition(position);
+        if (position != -1) {
+            delta.setPlayer(BitBoard.symbol(game.getPosition().getBoard().owner(position)));
+            delta.setThoughts(thoughts);
         }
-
-        // Columns
-        for (int col = 0; col < size; col++) {
-            for (int startRow = 0; startRow <= size - len; startRow++) {
-                int[] pattern = new int[len];
-                for (int i = 0; i < len; i++) {
-                    pattern[i] = (startRow + i) * size + col;
-                }
-                winPatterns.add(pattern);
-            }
+        delta.setCurrentPlayer(gameState.getCurrentPlayer());
+        delta.setStatus(gameState.getStatus());
+        delta.setGameOver(gameState.isGameOver());
+        delta.setWinner(gameState.getWinner());
+        if (gameState.getWinningPattern() != null) {
+            delta.setWinningPattern(gameState.getWinningPattern().stream().mapToInt(cell -> cell[0]).toArray());
         }
+        return delta;
+    }
 
-        // Diagonals (top-left to bottom-right)
-        for (int row = 0; row <= size - len; row++) {
-            for (int col = 0; col <= size - len; col++) {
-                int[] pattern = new int[len];
-                for (int i = 0; i < len; i++) {
-                    pattern[i] = (row + i) * size + (col + i);
-                }
-                winPatterns.add(pattern);
-            }
-        }
+    private void switchPlayer(GameState gameState) {
+        gameState.setCurrentPlayer(gameState.getCurrentPlayer().equals("X") ? "O" : "X");
+    }
 
-        // Diagonals (top-right to bottom-left)
-        for (int row = 0; row <= size - len; row++) {
-            for (int col = len - 1; col < size; col++) {
-                int[] pattern = new int[len];
-                for (int i = 0; i < len; i++) {
-                    pattern[i] = (row + i) * size + (col - i);
-                }
-                winPatterns.add(pattern);
-            }
-        }
+    private void loadWinPatterns(GameSession game) {
+        GameState gameState = game.getState();
+        PatternTable patterns = PatternTable.of(gameState.getBoardSize(), gameState.getWinLength());
+        game.setPosition(new Position(patterns, gameState.getBitBoard()));
+        game.setMeters(metrics.forGame(gameState.getBoardSize(), gameState.getWinLength(), gameState.getAiStrategy()));
     }
 
-    private boolean checkGameEnd() {
-        String[] board = gameState.getBoard();
+    // completedPattern is the pattern the last move filled, as reported by LineCounters.place
+    private boolean checkGameEnd(GameSession game, int completedPattern) {
+        GameState gameState = game.getState();
 
         // Check for winner
-        for (int[] pattern : winPatterns) {
-            String first = board[pattern[0]];
-            if (!first.isEmpty()) {
-                boolean won = true;
-                for (int i = 1; i < pattern.length; i++) {
-                    if (!board[pattern[i]].equals(first)) {
-                        won = false;
-                        break;
-                    }
-                }
-                if (won) {
-                    gameState.setGameOver(true);
-                    gameState.setWinner(first);
-                    List<int[]> winningPattern = new ArrayList<>();
-                    for (int pos : pattern) {
-                        winningPattern.add(new int[]{pos});
-                    }
-                    gameState.setWinningPattern(winningPattern);
-                    
-                    PlayerConfig winner = first.equals("X") ? gameState.getPlayerX() : gameState.getPlayerO();
-                    gameState.setStatus(winner.getName() + " (" + first + ") wins!");
-                    return true;
-                }
-            }
+        if (completedPattern != -1) {
+            String first = gameState.getCurrentPlayer();
+            gameState.setGameOver(true);
+            gameState.setWinner(first);
+            gameState.setWinningPattern(winningPattern(game.getPosition().getTable(), completedPattern));
+
+            PlayerConfig winnerConfig = first.equals("X") ? gameState.getPlayerX() : gameState.getPlayerO();
+            gameState.setStatus(winnerConfig.getName() + " (" + first + ") wins!");
+            return true;
         }
 
         // Check if game is still winnable
-        if (!isGameStillWinnable()) {
+        if (!isGameStillWinnable(game)) {
             gameState.setGameOver(true);
             gameState.setStatus("Draw - No winning paths remaining!");
             return true;
         }
 
         // Check for draw (board full)
-        boolean isFull = true;
-        for (String cell : board) {
-            if (cell.isEmpty()) {
-                isFull = false;
-                break;
-            }
-        }
-        if (isFull) {
+        if (game.getPosition().getCounters().isFull()) {
             gameState.setGameOver(true);
             gameState.setStatus("It's a draw!");
             return true;
@@ -196,245 +402,32 @@ public class GameService {
         return false;
     }
 
-    private boolean isGameStillWinnable() {
-        return canPlayerWin("X") || canPlayerWin("O");
-    }
-
-    private boolean canPlayerWin(String player) {
-        String opponent = player.equals("X") ? "O" : "X";
-        String[] board = gameState.getBoard();
-
-        for (int[] pattern : winPatterns) {
-            boolean hasOpponent = false;
-            for (int pos : pattern) {
-                if (board[pos].equals(opponent)) {
-                    hasOpponent = true;
-                    break;
-                }
-            }
-            if (!hasOpponent) {
-                return true;
-            }
-        }
-        return false;
-    }
-
-    private AgentThoughts calculateAIMove(String player) {
-        AgentThoughts thoughts = new AgentThoughts();
-        String opponent = player.equals("X") ? "O" : "X";
-        String[] board = gameState.getBoard();
-        int boardSize = gameState.getBoardSize();
-
-        String personality = player.equals("X") ? "Aggressive" : "Cautious";
-        double randomFactor = player.equals("X") ? 20 : 15;
-
-        thoughts.addThought("Analyzing " + boardSize + "x" + boardSize + " board (" + personality + " mode)...", "");
-
-        // Check if game is still winnable
-        if (!isGameStillWinnable()) {
-            thoughts.addThought("Board analysis: NO WINNING PATHS LEFT", "block");
-            thoughts.setChosenMove(getFirstAvailableMove());
-            thoughts.setReason("NO WINS POSSIBLE");
-            return thoughts;
-        }
-
-        // Step 1: Check if I can win
-        List<Integer> winningMoves = findWinningMoves(player);
-        if (!winningMoves.isEmpty()) {
-            int move = winningMoves.get((int)(Math.random() * winningMoves.size()));
-            thoughts.addThought("Found winning move at " + getPositionName(move) + "!", "win");
-            thoughts.setChosenMove(move);
-            thoughts.setReason("WINNING MOVE");
-            return thoughts;
-        }
-        thoughts.addThought("No immediate win available", "");
-
-        // Step 2: Check if opponent can win - MUST BLOCK
-        List<Integer> threats = findWinningMoves(opponent);
-        if (!threats.isEmpty()) {
-            int threat = threats.get((int)(Math.random() * threats.size()));
-            thoughts.addThought("DANGER! " + opponent + " can win at " + getPositionName(threat), "block");
-            thoughts.addThought("Must block immediately!", "block");
-            if (threats.size() > 1) {
-                thoughts.addThought(threats.size() + " threats detected! Trouble...", "block");
-            }
-            thoughts.setChosenMove(threat);
-            thoughts.setReason("BLOCKING THREAT");
-            return thoughts;
-        }
-        thoughts.addThought("No immediate threats from " + opponent, "");
-
-        // Step 3: Find forks
-        List<Integer> forkMoves = findForkMoves(player);
-        if (!forkMoves.isEmpty()) {
-            int move = forkMoves.get((int)(Math.random() * forkMoves.size()));
-            thoughts.addThought("Creating fork with multiple win paths!", "strategy");
-            thoughts.setChosenMove(move);
-            thoughts.setReason("Creating fork!");
-            return thoughts;
-        }
-
-        // Step 4: Block opponent forks
-        List<Integer> opponentForks = findForkMoves(opponent);
-        if (!opponentForks.isEmpty()) {
-            int move = opponentForks.get((int)(Math.random() * opponentForks.size()));
-            thoughts.addThought("Blocking opponent fork!", "strategy");
-            thoughts.setChosenMove(move);
-            thoughts.setReason("Blocking opponent fork!");
-            return thoughts;
-        }
-
-        // Step 5: Strategic move
-        int strategicMove = findStrategicMove(player, randomFactor);
-        String reason = getPositionReason(strategicMove);
-        thoughts.addThought(reason, "strategy");
-        thoughts.setChosenMove(strategicMove);
-        thoughts.setReason(reason);
-        return thoughts;
-    }
-
-    private List<Integer> findWinningMoves(String player) {
-        List<Integer> moves = new ArrayList<>();
-        String[] board = gameState.getBoard();
-        int winLength = gameState.getWinLength();
-
-        for (int[] pattern : winPatterns) {
-            int playerCount = 0;
-            int emptyPos = -1;
-            
-            for (int pos : pattern) {
-                if (board[pos].equals(player)) {
-                    playerCount++;
-                } else if (board[pos].isEmpty()) {
-                    emptyPos = pos;
-                }
-            }
-            
-            if (playerCount == winLength - 1 && emptyPos != -1) {
-                if (!moves.contains(emptyPos)) {
-                    moves.add(emptyPos);
-                }
-            }
-        }
-        return moves;
-    }
-
-    private List<Integer> findForkMoves(String player) {
-        List<Integer> forkMoves = new ArrayList<>();
-        String[] board = gameState.getBoard();
-        List<Integer> available = getAvailableMoves();
-
-        for (int pos : available) {
-            board[pos] = player;
-            List<Integer> winningAfter = findWinningMoves(player);
-            board[pos] = "";
-            
-            if (winningAfter.size() >= 2) {
-                forkMoves.add(pos);
-            }
+    private static List<int[]> winningPattern(PatternTable patterns, int pattern) {
+        List<int[]> winningPattern = new ArrayList<>();
+        for (int i = 0; i < patterns.getWinLength(); i++) {
+            winningPattern.add(new int[]{patterns.cell(pattern, i)});
         }
-        return forkMoves;
+        return winningPattern;
     }
 
-    private int findStrategicMove(String player, double randomFactor) {
-        List<Integer> available = getAvailableMoves();
-        int boardSize = gameState.getBoardSize();
-        
-        // Score each position
-        Map<Integer, Double> scores = new HashMap<>();
-        for (int pos : available) {
-            double score = evaluatePosition(pos, player) + Math.random() * randomFactor;
-            scores.put(pos, score);
+    // The move log keeps the winner but not the line, so find a line the winner filled
+    private void restoreWinningPattern(GameSession game) {
+        GameState gameState = game.getState();
+        if (gameState.getWinner() == null) {
+            return;
         }
-
-        // Get top moves
-        double maxScore = scores.values().stream().max(Double::compare).orElse(0.0);
-        double threshold = maxScore * 0.85;
-        List<Integer> topMoves = new ArrayList<>();
-        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
-            if (entry.getValue() >= threshold) {
-                topMoves.add(entry.getKey());
+        int winner = BitBoard.player(gameState.getWinner());
+        Position position = game.getPosition();
+        PatternTable patterns = position.getTable();
+        for (int p = 0; p < patterns.getPatternCount(); p++) {
+            if (position.getCounters().count(winner, p) == patterns.getWinLength()) {
+                gameState.setWinningPattern(winningPattern(patterns, p));
+                return;
             }
         }
-
-        return topMoves.get((int)(Math.random() * topMoves.size()));
     }
 
-    private double evaluatePosition(int pos, String player) {
-        double score = 0;
-        String opponent = player.equals("X") ? "O" : "X";
-        String[] board = gameState.getBoard();
-        int boardSize = gameState.getBoardSize();
-
-        for (int[] pattern : winPatterns) {
-            boolean inPattern = false;
-            for (int p : pattern) {
-                if (p == pos) {
-                    inPattern = true;
-                    break;
-                }
-            }
-            if (!inPattern) continue;
-
-            int playerCount = 0;
-            int opponentCount = 0;
-            for (int p : pattern) {
-                if (board[p].equals(player)) playerCount++;
-                if (board[p].equals(opponent)) opponentCount++;
-            }
-
-            if (opponentCount == 0) {
-                score += Math.pow(10, playerCount);
-            }
-        }
-
-        // Center bonus
-        int centerRow = boardSize / 2;
-        int centerCol = boardSize / 2;
-        int row = pos / boardSize;
-        int col = pos % boardSize;
-        int distFromCenter = Math.abs(row - centerRow) + Math.abs(col - centerCol);
-        score += (boardSize - distFromCenter) * 2;
-
-        return score;
-    }
-
-    private List<Integer> getAvailableMoves() {
-        List<Integer> available = new ArrayList<>();
-        String[] board = gameState.getBoard();
-        for (int i = 0; i < board.length; i++) {
-            if (board[i].isEmpty()) {
-                available.add(i);
-            }
-        }
-        return available;
-    }
-
-    private int getFirstAvailableMove() {
-        String[] board = gameState.getBoard();
-        for (int i = 0; i < board.length; i++) {
-            if (board[i].isEmpty()) {
-                return i;
-            }
-        }
-        return 0;
-    }
-
-    private String getPositionName(int pos) {
-        int row = pos / gameState.getBoardSize();
-        int col = pos % gameState.getBoardSize();
-        return "(" + (row + 1) + ", " + (col + 1) + ")";
-    }
-
-    private String getPositionReason(int pos) {
-        int boardSize = gameState.getBoardSize();
-        int row = pos / boardSize;
-        int col = pos % boardSize;
-        boolean isCenter = row == boardSize / 2 && col == boardSize / 2;
-        boolean isCorner = (row == 0 || row == boardSize - 1) && (col == 0 || col == boardSize - 1);
-
-        if (isCenter) return "Taking center - strongest position";
-        if (isCorner) return "Taking corner - good control";
-        return "Strategic position";
+    private boolean isGameStillWinnable(GameSession game) {
+        return game.getPosition().getCounters().isWinnable();
     }
 }
@@ -0,0 +1,72 @@
+package com.tictactoe.service;
+
+import com.tictactoe.engine.Position;
+import com.tictactoe.model.GameDelta;
+import com.tictactoe.model.GameState;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class GameSession {
+    private final String id;
+    // The working state, only read or changed under the lock
+    private final GameState state;
+    // The last committed state, read without the lock; replaced after every change and never
+    // modified once published
+    private volatile GameState snapshot;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<Consumer<GameDelta>> listeners = new CopyOnWriteArrayList<>();
+    private volatile long lastAccess;
+    // lastAccess when the registry last queued the game for eviction; only read and written
+    // by the thread that took the game off the queue
+    private long queuedAccess;
+
+    private Position position;
+    private GameMetrics.Meters meters;
+
+    public GameSession(String id) {
+        this(id, new GameState());
+    }
+
+    public GameSession(String id, GameState state) {
+        this.id = id;
+        this.state = state;
+        this.state.setGameId(id);
+        publishSnapshot();
+        touch();
+    }
+
+    public String getId() { return id; }
+    public GameState getState() { return state; }
+    public GameState getSnapshot() { return snapshot; }
+    // Called under the lock once a change to state is complete
+    public void publishSnapshot() { this.snapshot = state.snapshot(); }
+    public ReentrantLock getLock() { return lock; }
+
+    public long getLastAccess() { return lastAccess; }
+    public void touch() { this.lastAccess = System.nanoTime(); }
+
+    long getQueuedAccess() { return queuedAccess; }
+    void setQueuedAccess(long queuedAccess) { this.queuedAccess = queuedAccess; }
+
+    public Position getPosition() { return position; }
+    public void setPosition(Position position) { this.position = position; }
+
+    public GameMetrics.Meters getMeters() { return meters; }
+    public void setMeters(GameMetrics.Meters meters) { this.meters = meters; }
+
+    public void addListener(Consumer<GameDelta> listener) { listeners.add(listener); }
+    public void removeListener(Consumer<GameDelta> listener) { listeners.remove(listener); }
+    public boolean hasListeners() { return !listeners.isEmpty(); }
+
+    // Called after the lock is released so slow listeners never hold up the game
+    public void publish(GameDelta delta) {
+        if (delta != null) {
+            for (Consumer<GameDelta> listener : listeners) {
+                listener.accept(delta);
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.tictactoe.service;
+
+import com.tictactoe.model.GameDelta;
+import com.tictactoe.model.GameState;
+import com.tictactoe.model.PlayerConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Server-sent event streams per game. Subscribers get the full state once, then a small
+ * "move" event per move. While anyone is watching, AI turns are played on the server
+ * after a configurable delay, so clients never have to poll or call /ai-move. Events are
+ * queued per game and written by a small sender pool, so a slow client never holds up the
+ * thread that made the move.
+ */
+@Service
+public class GameStreamService {
+    private static final Logger log = LoggerFactory.getLogger(GameStreamService.class);
+    private static final long BUSY_RETRY_MS = 250;
+
+    private final GameRegistry registry;
+    private final GameService gameService;
+    private final AIMoveExecutor aiMoveExecutor;
+    private final long timeoutMs;
+    private final ScheduledExecutorService scheduler;
+    private final ExecutorService senders;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    public GameStreamService(GameRegistry registry, GameService gameService, AIMoveExecutor aiMoveExecutor,
+                             @Value("${tictactoe.stream.timeout-ms:1800000}") long timeoutMs,
+                             @Value("${tictactoe.stream.send-threads:0}") int sendThreads) {
+        this.registry = registry;
+        this.gameService = gameService;
+        this.aiMoveExecutor = aiMoveExecutor;
+        this.timeoutMs = timeoutMs;
+        // Only paces AI turns, the moves themselves run on the AI executor
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "game-stream");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(sendThreads > 0 ? sendThreads : Runtime.getRuntime().availableProcessors(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "game-stream-send-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    public SseEmitter subscribe(String gameId, long aiDelayMs) {
+        GameSession session = registry.get(gameId);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Channel channel = channels.compute(gameId, (id, existing) -> {
+            Channel ch = existing != null ? existing : new Channel(session);
+            if (existing == null) {
+                session.addListener(ch);
+            }
+            ch.emitters.add(emitter);
+            return ch;
+        });
+        channel.aiDelayMs = Math.max(0, aiDelayMs);
+        emitter.onCompletion(() -> unsubscribe(channel, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(channel, emitter));
+
+        GameState state = session.getSnapshot();
+        channel.enqueue(new Event(emitter, "state", state.getVersion(), state));
+        scheduleAIMove(channel, channel.aiDelayMs);
+        return emitter;
+    }
+
+    private void unsubscribe(Channel channel, SseEmitter emitter) {
+        channels.computeIfPresent(channel.session.getId(), (id, ch) -> {
+            ch.emitters.remove(emitter);
+            if (ch.emitters.isEmpty()) {
+                ch.session.removeListener(ch);
+                return null;
+            }
+            return ch;
+        });
+    }
+
+    private void send(Channel channel, SseEmitter emitter, String name, long version, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).id(Long.toString(version)).data(data));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away, the container reports completion or error separately
+            unsubscribe(channel, emitter);
+        }
+    }
+
+    private void scheduleAIMove(Channel channel, long delayMs) {
+        GameState state = channel.session.getSnapshot();
+        PlayerConfig current = "X".equals(state.getCurrentPlayer()) ? state.getPlayerX() : state.getPlayerO();
+        if (state.isGameOver() || current.isHuman() || channel.emitters.isEmpty()
+            || !channel.aiPending.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.schedule(() -> {
+            channel.aiPending.set(false);
+            if (channel.emitters.isEmpty()) {
+                return;
+            }
+            aiMoveExecutor.submit(deadline -> gameService.makeAIMove(channel.session.getId(), null, deadline))
+                .whenComplete((result, error) -> {
+                    if (error instanceof GameNotFoundException) {
+                        channel.emitters.forEach(SseEmitter::complete);
+                    } else if (error instanceof AIBusyException) {
+                        scheduleAIMove(channel, Math.max(channel.aiDelayMs, BUSY_RETRY_MS));
+                    } else if (error != null) {
+                        log.warn("AI move for game {} failed", channel.session.getId(), error);
+                    }
+                });
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    // One queued event, for a single new subscriber or, with no emitter, for all of them
+    private static final class Event {
+        final SseEmitter emitter;
+        final String name;
+        final long version;
+        final Object data;
+
+        Event(SseEmitter emitter, String name, long version, Object data) {
+            this.emitter = emitter;
+            this.name = name;
+            this.version = version;
+            this.data = data;
+        }
+    }
+
+    // Fans one game's deltas out to its subscribers and keeps AI turns going
+    private final class Channel implements Consumer<GameDelta> {
+        final GameSession session;
+        final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        final Queue<Event> events = new ConcurrentLinkedQueue<>();
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean aiPending = new AtomicBoolean();
+        volatile long aiDelayMs;
+
+        Channel(GameSession session) {
+            this.session = session;
+        }
+
+        @Override
+        public void accept(GameDelta delta) {
+            if (GameDelta.RESET.equals(delta.getType())) {
+                enqueue(new Event(null, "state", delta.getVersion(), session.getSnapshot()));
+            } else {
+                enqueue(new Event(null, "move", delta.getVersion(), delta));
+            }
+            scheduleAIMove(this, aiDelayMs);
+        }
+
+        void enqueue(Event event) {
+            events.add(event);
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down
+                    draining.set(false);
+                }
+            }
+        }
+
+        // At most one drain runs per channel, so each subscriber sees events in order
+        private void drain() {
+            do {
+                Event event;
+                while ((event = events.poll()) != null) {
+                    if (event.emitter != null) {
+                        send(this, event.emitter, event.name, event.version, event.data);
+                    } else {
+                        for (SseEmitter emitter : emitters) {
+                            send(this, emitter, event.name, event.version, event.data);
+                        }
+                    }
+                }
+                draining.set(false);
+                // An event queued after the last poll but before the reset would otherwise wait
+            } while (!events.isEmpty() && draining.compareAndSet(false, true));
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.tictactoe.service;
+
+import com.tictactoe.model.GameState;
+import com.tictactoe.model.Verbosity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only binary log of game changes, so games survive a restart. Every new game,
+ * reset, move and removal is one small framed record. Callers only copy the record into
+ * a buffer; a background thread writes and fsyncs the buffer every few milliseconds
+ * (group commit), so a crash loses at most that window. Snapshots of every live game
+ * are taken periodically, after which the log segments they cover are deleted. Startup
+ * loads the latest snapshot and replays the segments written since.
+ */
+@Component
+public class MoveLog {
+    static final int SEGMENT_MAGIC = 0x5454544C;
+    static final int SNAPSHOT_MAGIC = 0x54545453;
+    static final int VERSION = 1;
+    private static final int HEADER_BYTES = 8;
+    // Each record is framed as payload length, CRC32C of the payload, then the payload
+    private static final int FRAME_BYTES = 8;
+    private static final int INITIAL_BUFFER_BYTES = 64 * 1024;
+
+    static final byte GAME = 1;
+    static final byte MOVE = 2;
+    static final byte REMOVE = 3;
+    // type, game id, version, position
+    private static final int MOVE_BYTES = 1 + 16 + 8 + 2;
+    // type, game id, version, sizes and first player, budgets, turn, over, winner, strategy,
+    // status and board lengths, verbosity, seed, round; then strategy, status and board
+    private static final int GAME_FIXED_BYTES = 1 + 16 + 8 + 4 + 8 + 8 + 3 + 3 * 2 + 1 + 8 + 4;
+
+    private static final Logger log = LoggerFactory.getLogger(MoveLog.class);
+
+    // Receives the log's contents in order during recovery
+    public interface Replay {
+        // A whole game: created, reset, or read from a snapshot
+        void game(GameState state);
+        void move(String gameId, long version, int position);
+        void remove(String gameId);
+    }
+
+    private final GameRegistry registry;
+    private final boolean enabled;
+    private final Path dir;
+    private final long flushIntervalMs;
+    private final ScheduledExecutorService flusher;
+
+    // Records wait in active until the flusher swaps it with flushing
+    private final Object bufferLock = new Object();
+    private ByteBuffer active = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+    private ByteBuffer flushing = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+
+    // Only touched on the flusher thread once the log is open
+    private FileChannel segment;
+    private long segmentSeq;
+    private volatile boolean open;
+    // Records written since the last snapshot
+    private volatile boolean dirty;
+
+    public MoveLog(GameRegistry registry,
+                   @Value("${tictactoe.journal.enabled:true}") boolean enabled,
+                   @Value("${tictactoe.journal.dir:journal}") String dir,
+                   @Value("${tictactoe.journal.flush-interval-ms:5}") long flushIntervalMs) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.dir = Paths.get(dir);
+        this.flushIntervalMs = Math.max(1, flushIntervalMs);
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "move-log");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            registry.setRemovalListener(this::logRemove);
+        }
+    }
+
+    public static MoveLog disabled() {
+        return new MoveLog(null, false, "", 0);
+    }
+
+    // Replays the snapshot and segments on disk, then starts a fresh segment for new records
+    public void recover(Replay replay) {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            Files.createDirectories(dir);
+            long snapshot = -1;
+            List<Long> segments = new ArrayList<>();
+            try (Stream<Path> files = Files.list(dir)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.startsWith("snapshot-") && name.endsWith(".bin")) {
+                        snapshot = Math.max(snapshot, sequence(name));
+                    } else if (name.startsWith("moves-") && name.endsWith(".log")) {
+                        segments.add(sequence(name));
+                    }
+                }
+            }
+            segments.sort(null);
+
+            int records = 0;
+            if (snapshot != -1) {
+                records += read(snapshotFile(snapshot), SNAPSHOT_MAGIC, replay);
+            }
+            long next = snapshot + 1;
+            for (long seq : segments) {
+                if (seq >= snapshot) {
+                    records += read(segmentFile(seq), SEGMENT_MAGIC, replay);
+                }
+                next = Math.max(next, seq + 1);
+            }
+            // Never append after a possibly torn tail; the next snapshot removes old segments
+            openSegment(next);
+            log.info("Recovered {} games from {} log records in {} ms", registry.size(), records,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not recover the move log in " + dir.toAbsolutePath(), e);
+        }
+        open = true;
+        flusher.scheduleWithFixedDelay(this::flush, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void logGame(GameState state) {
+        if (open) {
+            append(encodeGame(state));
+        }
+    }
+
+    // version is the game's version after the move
+    public void logMove(String gameId, long version, int position) {
+        if (!open) {
+            return;
+        }
+        UUID id = UUID.fromString(gameId);
+        synchronized (bufferLock) {
+            int frame = beginFrame(MOVE_BYTES);
+            active.put(MOVE);
+            active.putLong(id.getMostSignificantBits());
+            active.putLong(id.getLeastSignificantBits());
+            active.putLong(version);
+            active.putShort((short) position);
+            endFrame(frame);
+        }
+    }
+
+    public void logRemove(String gameId) {
+        if (open) {
+            UUID id = UUID.fromString(gameId);
+            append(ByteBuffer.allocate(17).put(REMOVE)
+                .putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array());
+        }
+    }
+
+    private void append(byte[] payload) {
+        synchronized (bufferLock) {
+            int frame = beginFrame(payload.length);
+            active.put(payload);
+            endFrame(frame);
+        }
+    }
+
+    // Reserves room for a frame header and returns where the frame starts
+    private int beginFrame(int payloadBytes) {
+        if (active.remaining() < FRAME_BYTES + payloadBytes) {
+            int capacity = Math.max(active.capacity() * 2, active.position() + FRAME_BYTES + payloadBytes);
+            ByteBuffer grown = ByteBuffer.allocate(capacity);
+            active.flip();
+            grown.put(active);
+            active = grown;
+        }
+        int frame = active.position();
+        active.position(frame + FRAME_BYTES);
+        return frame;
+    }
+
+    private void endFrame(int frame) {
+        int length = active.position() - frame - FRAME_BYTES;
+        CRC32C crc = new CRC32C();
+        crc.update(active.array(), frame + FRAME_BYTES, length);
+        active.putInt(frame, length);
+        active.putInt(frame + 4, (int) crc.getValue());
+    }
+
+    private void flush() {
+        synchronized (bufferLock) {
+            ByteBuffer full = active;
+            active = flushing;
+            flushing = full;
+        }
+        flushing.flip();
+        try {
+            if (flushing.hasRemaining()) {
+                while (flushing.hasRemaining()) {
+                    segment.write(flushing);
+                }
+                segment.force(false);
+                dirty = true;
+            }
+        } catch (IOException e) {
+            log.error("Could not write the move log segment {}", segmentSeq, e);
+        } finally {
+            flushing.clear();
+        }
+    }
+
+    // Snapshots every live game, then deletes the segments and snapshots it replaces
+    @Scheduled(fixedDelayString = "${tictactoe.journal.snapshot-interval-ms:300000}")
+    public void snapshot() {
+        if (!open || !dirty) {
+            return;
+        }
+        long start = System.nanoTime();
+        long seq;
+        try {
+            // Records logged from here on go to the new segment, which is replayed on top
+            // of this snapshot; replay skips whatever the snapshot already contains
+            seq = flusher.submit(this::rotate).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (ExecutionException e) {
+            log.error("Could not start a new move log segment", e.getCause());
+            return;
+        }
+        dirty = false;
+
+        Path temp = dir.resolve("snapshot-" + seq + ".tmp");
+        int games = 0;
+        try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(INITIAL_BUFFER_BYTES);
+            buffer.putInt(SNAPSHOT_MAGIC).putInt(VERSION);
+            // Published snapshots are read without the game lock, so a long AI move does not
+            // hold up the snapshot; GameService publishes before it logs
+            for (GameSession session : registry.sessions()) {
+                byte[] payload = encodeGame(session.getSnapshot());
+                if (buffer.remaining() < FRAME_BYTES + payload.length) {
+                    writeFully(out, buffer);
+                }
+                CRC32C crc = new CRC32C();
+                crc.update(payload);
+                buffer.putInt(payload.length).putInt((int) crc.getValue()).put(payload);
+                games++;
+            }
+            writeFully(out, buffer);
+            out.force(true);
+            Files.move(temp, snapshotFile(seq), StandardCopyOption.ATOMIC_MOVE);
+            deleteBefore(seq);
+        } catch (IOException e) {
+            log.error("Could not write move log snapshot {}", seq, e);
+            dirty = true;
+            return;
+        }
+        log.info("Snapshot {} of {} games written in {} ms", seq, games,
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    // Runs on the flusher thread: flushes what is buffered and starts the next segment
+    private long rotate() throws IOException {
+        flush();
+        segment.close();
+        openSegment(segmentSeq + 1);
+        return segmentSeq;
+    }
+
+    private void openSegment(long seq) throws IOException {
+        segment = FileChannel.open(segmentFile(seq), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(SEGMENT_MAGIC).putInt(VERSION);
+        writeFully(segment, header);
+        segment.force(true);
+        segmentSeq = seq;
+    }
+
+    private void deleteBefore(long seq) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                boolean old = (name.startsWith("snapshot-") && name.endsWith(".bin"))
+                    || (name.startsWith("moves-") && name.endsWith(".log"));
+                if (old && sequence(name) < seq) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!open) {
+            flusher.shutdownNow();
+            return;
+        }
+        open = false;
+        try {
+            flusher.submit(() -> {
+                flush();
+                segment.close();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Could not close the move log", e.getCause());
+        } finally {
+            flusher.shutdownNow();
+        }
+    }
+
+    // Replays every intact record of a file and returns how many there were
+    private static int read(Path file, int magic, Replay replay) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.limit() < HEADER_BYTES || buffer.getInt() != magic || buffer.getInt() != VERSION) {
+                log.warn("Ignoring move log file {}: unexpected header", file);
+                return 0;
+            }
+            int records = 0;
+            CRC32C crc = new CRC32C();
+            while (buffer.remaining() >= FRAME_BYTES) {
+                int frame = buffer.position();
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                if (length <= 0 || length > buffer.remaining()) {
+                    log.warn("Move log {} ends in a partial record at byte {}", file, frame);
+                    break;
+                }
+                ByteBuffer payload = buffer.slice();
+                payload.limit(length);
+                crc.reset();
+                crc.update(payload.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    log.warn("Move log {} has a corrupt record at byte {}, ignoring the rest", file, frame);
+                    break;
+                }
+                dispatch(payload, replay);
+                buffer.position(buffer.position() + length);
+                records++;
+            }
+            return records;
+        }
+    }
+
+    private static void dispatch(ByteBuffer payload, Replay replay) {
+        byte type = payload.get();
+        String gameId = new UUID(payload.getLong(), payload.getLong()).toString();
+        if (type == GAME) {
+            replay.game(decodeGame(gameId, payload));
+        } else if (type == MOVE) {
+            long version = payload.getLong();
+            replay.move(gameId, version, payload.getShort());
+        } else if (type == REMOVE) {
+            replay.remove(gameId);
+        }
+    }
+
+    // Everything but the thoughts and the first-player history
+    static byte[] encodeGame(GameState state) {
+        UUID id = UUID.fromString(state.getGameId());
+        byte[] strategy = bytes(state.getAiStrategy());
+        byte[] status = bytes(state.getStatus());
+        byte[] board = state.getBitBoard().pack();
+        ByteBuffer out = ByteBuffer.allocate(GAME_FIXED_BYTES + strategy.length + status.length + board.length);
+        out.put(GAME)
+            .putLong(id.getMostSignificantBits())
+            .putLong(id.getLeastSignificantBits())
+            .putLong(state.getVersion())
+            .put((byte) state.getBoardSize())
+            .put((byte) state.getWinLength())
+            .put((byte) state.getHumanPlayers())
+            .put((byte) (state.isHumanGoesFirst() ? 1 : 0))
+            .putLong(state.getMoveTimeMs())
+            .putLong(state.getMoveNodes())
+            .put((byte) ("X".equals(state.getCurrentPlayer()) ? 0 : 1))
+            .put((byte) (state.isGameOver() ? 1 : 0))
+            .put((byte) (state.getWinner() == null ? 0 : "X".equals(state.getWinner()) ? 1 : 2));
+        out.putShort((short) strategy.length).put(strategy);
+        out.putShort((short) status.length).put(status);
+        out.putShort((short) board.length).put(board);
+        out.put((byte) state.getThoughts().ordinal());
+        out.putLong(state.getSeed());
+        out.putInt(state.getRound());
+        if (out.hasRemaining()) {
+            throw new IllegalStateException("GAME record sized " + out.remaining() + " bytes too large");
+        }
+        return out.array();
+    }
+
+    private static GameState decodeGame(String gameId, ByteBuffer in) {
+        long version = in.getLong();
+        int boardSize = in.get();
+        int winLength = in.get();
+        int humanPlayers = in.get();
+        boolean humanGoesFirst = in.get() != 0;
+        GameState state = new GameState();
+        state.restore(boardSize, winLength, humanPlayers, humanGoesFirst);
+        state.setGameId(gameId);
+        state.setVersion(version);
+        state.setMoveTimeMs(in.getLong());
+        state.setMoveNodes(in.getLong());
+        state.setCurrentPlayer(in.get() == 0 ? "X" : "O");
+        state.setGameOver(in.get() != 0);
+        int winner = in.get();
+        state.setWinner(winner == 0 ? null : winner == 1 ? "X" : "O");
+        state.setAiStrategy(string(in));
+        state.setStatus(string(in));
+        byte[] board = new byte[in.getShort()];
+        in.get(board);
+        state.getBitBoard().unpack(board);
+        if (in.hasRemaining()) {
+            state.setThoughts(Verbosity.values()[in.get()]);
+        }
+        // Older records end with two spare zero bytes where these fields now go
+        if (in.remaining() >= Long.BYTES) {
+            state.setSeed(in.getLong());
+        }
+        if (in.remaining() >= Integer.BYTES) {
+            state.setRound(in.getInt());
+        }
+        return state;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String string(ByteBuffer in) {
+        byte[] value = new byte[in.getShort()];
+        in.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long sequence(String fileName) {
+        return Long.parseLong(fileName.substring(fileName.indexOf('-') + 1, fileName.indexOf('.')));
+    }
+
+    private Path segmentFile(long seq) {
+        return dir.resolve("moves-" + seq + ".log");
+    }
+
+    private Path snapshotFile(long seq) {
+        return dir.resolve("snapshot-" + seq + ".bin");
+    }
+}
@@ -0,0 +1,11 @@
+package com.tictactoe.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class SelfPlayJobNotFoundException extends RuntimeException {
+    public SelfPlayJobNotFoundException(String jobId) {
+        super("Self-play job not found: " + jobId);
+    }
+}
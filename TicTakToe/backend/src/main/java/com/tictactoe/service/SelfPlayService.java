@@ -0,0 +1,277 @@
+package com.tictactoe.service;
+
+import com.tictactoe.ai.AIStrategy;
+import com.tictactoe.ai.HeuristicStrategy;
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.IntList;
+import com.tictactoe.engine.LineCounters;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
+import com.tictactoe.engine.Seeds;
+import com.tictactoe.model.GameConfig;
+import com.tictactoe.model.MoveBudget;
+import com.tictactoe.model.SelfPlayRequest;
+import com.tictactoe.model.SelfPlayStats;
+import com.tictactoe.model.Verbosity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Plays AI-vs-AI games to completion in process, straight on the engine's Position,
+ * and reports aggregate results. A run is a background job: its games are split into
+ * batches across a fixed worker pool, each batch reuses one board and only adds to the
+ * job's counters, and the job can be polled for progress or cancelled at any time.
+ */
+@Service
+public class SelfPlayService {
+    private static final Logger log = LoggerFactory.getLogger(SelfPlayService.class);
+
+    // Batches per worker, so uneven game lengths still balance out
+    private static final int BATCHES_PER_THREAD = 4;
+    // Finished jobs kept for polling; older ones are dropped as new jobs start
+    private static final int KEEP_FINISHED = 32;
+
+    private final Map<String, AIStrategy> strategies = new HashMap<>();
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final AtomicInteger running = new AtomicInteger();
+    private final ExecutorService workers;
+    private final int threads;
+    private final int maxGames;
+    private final int maxJobs;
+
+    public SelfPlayService(List<AIStrategy> strategies,
+                           @Value("${tictactoe.selfplay.threads:0}") int threads,
+                           @Value("${tictactoe.selfplay.max-games:1000000}") int maxGames,
+                           @Value("${tictactoe.selfplay.max-jobs:2}") int maxJobs) {
+        for (AIStrategy strategy : strategies) {
+            this.strategies.put(strategy.getName(), strategy);
+        }
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxGames = maxGames;
+        this.maxJobs = maxJobs;
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(this.threads, runnable -> {
+            Thread thread = new Thread(runnable, "self-play-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // Queues the run and returns at once; fails with AIBusyException when maxJobs are running
+    public SelfPlayStats start(SelfPlayRequest request) {
+        int boardSize = GameConfig.clampBoardSize(request.getBoardSize());
+        int winLength = GameConfig.clampWinLength(request.getWinLength(), boardSize);
+        int games = Math.max(1, Math.min(request.getGames(), maxGames));
+        AIStrategy[] players = {strategy(request.getStrategyX()), strategy(request.getStrategyO())};
+        MoveBudget budget = MoveBudget.of(request.getMoveTimeMs(), request.getMoveNodes());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong() >>> 11;
+        PatternTable patterns = PatternTable.of(boardSize, winLength);
+
+        if (running.incrementAndGet() > maxJobs) {
+            running.decrementAndGet();
+            throw new AIBusyException("Too many self-play jobs running, try again later");
+        }
+        pruneFinished();
+        int batches = Math.min(games, threads * BATCHES_PER_THREAD);
+        Job job = new Job(UUID.randomUUID().toString(), boardSize, winLength, players, games, seed, batches);
+        jobs.put(job.id, job);
+        try {
+            for (int i = 0, firstGame = 0; i < batches; i++) {
+                int batchGames = games / batches + (i < games % batches ? 1 : 0);
+                int batchStart = firstGame;
+                job.batches.add(workers.submit(() -> runBatch(job, patterns, budget, batchStart, batchGames)));
+                firstGame += batchGames;
+            }
+        } catch (RejectedExecutionException e) {
+            // Shutting down, release the slot taken above
+            if (finish(job, SelfPlayStats.FAILED)) {
+                job.batches.forEach(batch -> batch.cancel(true));
+            }
+            throw new AIBusyException("Self-play is shutting down");
+        }
+        return job.stats();
+    }
+
+    public SelfPlayStats status(String jobId) {
+        return job(jobId).stats();
+    }
+
+    // Stops the job's batches; the games finished so far stay in its stats
+    public SelfPlayStats cancel(String jobId) {
+        Job job = job(jobId);
+        if (finish(job, SelfPlayStats.CANCELLED)) {
+            job.batches.forEach(batch -> batch.cancel(true));
+        }
+        return job.stats();
+    }
+
+    private Job job(String jobId) {
+        Job job = jobId == null ? null : jobs.get(jobId);
+        if (job == null) {
+            throw new SelfPlayJobNotFoundException(jobId);
+        }
+        return job;
+    }
+
+    private AIStrategy strategy(String name) {
+        return strategies.getOrDefault(name, strategies.get(HeuristicStrategy.NAME));
+    }
+
+    // Always settles the batch, so even an Error cannot leave the job counted as running
+    private void runBatch(Job job, PatternTable patterns, MoveBudget budget, int firstGame, int games) {
+        boolean failed = true;
+        try {
+            playBatch(job, patterns, budget, firstGame, games);
+            failed = false;
+        } catch (Throwable e) {
+            log.warn("Self-play job {} failed", job.id, e);
+            throw e;
+        } finally {
+            if (failed) {
+                if (finish(job, SelfPlayStats.FAILED)) {
+                    job.batches.forEach(batch -> batch.cancel(true));
+                }
+            } else if (job.remainingBatches.decrementAndGet() == 0) {
+                finish(job, SelfPlayStats.DONE);
+            }
+        }
+    }
+
+    // Returns whether this call ended the job
+    private boolean finish(Job job, String status) {
+        if (!job.status.compareAndSet(SelfPlayStats.RUNNING, status)) {
+            return false;
+        }
+        job.endNanos = System.nanoTime();
+        running.decrementAndGet();
+        return true;
+    }
+
+    private void pruneFinished() {
+        List<Job> finished = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (!SelfPlayStats.RUNNING.equals(job.status.get())) {
+                finished.add(job);
+            }
+        }
+        if (finished.size() >= KEEP_FINISHED) {
+            finished.sort(Comparator.comparingLong(job -> job.endNanos));
+            for (int i = 0; i <= finished.size() - KEEP_FINISHED; i++) {
+                jobs.remove(finished.get(i).id);
+            }
+        }
+    }
+
+    // Plays games firstGame onwards into the job's totals. Each game draws from its own
+    // stream, so the totals do not depend on how games are split into batches.
+    private static void playBatch(Job job, PatternTable patterns, MoveBudget budget, int firstGame, int games) {
+        AIStrategy[] players = job.players;
+        IntList moves = new IntList(patterns.getCellCount());
+        Position position = new Position(patterns, new BitBoard(patterns.getCellCount()));
+        LineCounters counters = position.getCounters();
+        for (int game = 0; game < games && !Thread.currentThread().isInterrupted() && job.isRunning(); game++) {
+            SplittableRandom random = Seeds.stream(job.seed, firstGame + game);
+            int player = BitBoard.X;
+            int winner = -1;
+            while (true) {
+                int move = players[player].chooseMove(position, player, budget, Verbosity.NONE, random).getChosenMove();
+                moves.add(move);
+                if (position.play(player, move) != -1) {
+                    winner = player;
+                    break;
+                }
+                if (!counters.isWinnable() || counters.isFull()) {
+                    break;
+                }
+                player = BitBoard.opponent(player);
+            }
+            job.plies.add(moves.size());
+            job.results[winner == -1 ? 2 : winner].increment();
+
+            // Take the stones back so the next game reuses the same board
+            while (!moves.isEmpty()) {
+                position.undo((moves.size() & 1) == 1 ? BitBoard.X : BitBoard.O, moves.pop());
+            }
+        }
+    }
+
+    private static final class Job {
+        final String id;
+        final int boardSize;
+        final int winLength;
+        final AIStrategy[] players;
+        final int games;
+        final long seed;
+        final long startNanos = System.nanoTime();
+        volatile long endNanos;
+        final AtomicReference<String> status = new AtomicReference<>(SelfPlayStats.RUNNING);
+        // winsX, winsO, draws
+        final LongAdder[] results = {new LongAdder(), new LongAdder(), new LongAdder()};
+        final LongAdder plies = new LongAdder();
+        final List<Future<?>> batches = new CopyOnWriteArrayList<>();
+        final AtomicInteger remainingBatches;
+
+        Job(String id, int boardSize, int winLength, AIStrategy[] players, int games, long seed, int batches) {
+            this.id = id;
+            this.boardSize = boardSize;
+            this.winLength = winLength;
+            this.players = players;
+            this.games = games;
+            this.seed = seed;
+            this.remainingBatches = new AtomicInteger(batches);
+        }
+
+        boolean isRunning() {
+            return SelfPlayStats.RUNNING.equals(status.get());
+        }
+
+        SelfPlayStats stats() {
+            String current = status.get();
+            // endNanos lands just after the status changes
+            long end = endNanos;
+            long elapsedNanos = (SelfPlayStats.RUNNING.equals(current) || end == 0 ? System.nanoTime() : end) - startNanos;
+            long winsX = results[BitBoard.X].sum();
+            long winsO = results[BitBoard.O].sum();
+            long draws = results[2].sum();
+            // Read last, so plies never lag behind the games counted
+            long totalPlies = plies.sum();
+            long played = winsX + winsO + draws;
+            double perGame = Math.max(1, played);
+
+            SelfPlayStats stats = new SelfPlayStats();
+            stats.setJobId(id);
+            stats.setStatus(current);
+            stats.setBoardSize(boardSize);
+            stats.setWinLength(winLength);
+            stats.setStrategyX(players[BitBoard.X].getName());
+            stats.setStrategyO(players[BitBoard.O].getName());
+            stats.setGames(games);
+            stats.setGamesPlayed(played);
+            stats.setSeed(seed);
+            stats.setWinsX(winsX);
+            stats.setWinsO(winsO);
+            stats.setDraws(draws);
+            stats.setWinRateX(winsX / perGame);
+            stats.setWinRateO(winsO / perGame);
+            stats.setDrawRate(draws / perGame);
+            stats.setAveragePlies(totalPlies / perGame);
+            stats.setMovesPerSecond(totalPlies * 1e9 / Math.max(1, elapsedNanos));
+            stats.setElapsedMs(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            return stats;
+        }
+    }
+}
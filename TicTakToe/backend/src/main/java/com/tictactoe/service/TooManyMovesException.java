@@ -0,0 +1,11 @@
+package com.tictactoe.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class TooManyMovesException extends RuntimeException {
+    public TooManyMovesException(long moves, int limit) {
+        super("Too many moves in one request: " + moves + " (limit " + limit + ")");
+    }
+}
@@ -0,0 +1,55 @@
+package com.tictactoe.ai;
+
+import com.tictactoe.bench.SeededPositions;
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.Position;
+import com.tictactoe.model.AgentThoughts;
+import com.tictactoe.model.MoveBudget;
+import com.tictactoe.model.Verbosity;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Lives in com.tictactoe.ai to reach the package-private evaluatePosition
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluationBenchmark {
+
+    @Param({"3:3", "4:4", "5:4", "7:4", "7:5", "10:4", "10:5", "15:5", "19:5"})
+    public String config;
+
+    private HeuristicStrategy heuristic;
+    private Position position;
+    private int toMove;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] sizes = SeededPositions.parseConfig(config);
+        heuristic = new HeuristicStrategy();
+        position = SeededPositions.midgame(sizes[0], sizes[1], 0.3, SeededPositions.SEED);
+        toMove = position.getCounters().getStones() & 1;
+    }
+
+    // evaluatePosition for every empty cell, as the strategic step does
+    @Benchmark
+    public double evaluatePosition() {
+        BitBoard board = position.getBoard();
+        double total = 0;
+        for (int pos = board.nextEmpty(0); pos != -1; pos = board.nextEmpty(pos + 1)) {
+            total += heuristic.evaluatePosition(position, pos, toMove);
+        }
+        return total;
+    }
+
+    // Same random stream every call, so every call makes the same choices
+    @Benchmark
+    public AgentThoughts heuristicMove() {
+        return heuristic.chooseMove(position, toMove, MoveBudget.DEFAULT, Verbosity.FULL,
+            new SplittableRandom(SeededPositions.SEED));
+    }
+}
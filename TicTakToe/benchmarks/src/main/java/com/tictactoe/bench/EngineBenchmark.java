@@ -0,0 +1,61 @@
+package com.tictactoe.bench;
+
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.Position;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EngineBenchmark {
+
+    @Param({"3:3", "4:4", "5:4", "7:4", "7:5", "10:4", "10:5", "15:5", "19:5"})
+    public String config;
+
+    private Position position;
+    private int[] empties;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[] sizes = SeededPositions.parseConfig(config);
+        position = SeededPositions.midgame(sizes[0], sizes[1], 0.4, SeededPositions.SEED);
+        BitBoard board = position.getBoard();
+        int count = 0;
+        int[] cells = new int[position.getCellCount()];
+        for (int pos = board.nextEmpty(0); pos != -1; pos = board.nextEmpty(pos + 1)) {
+            cells[count++] = pos;
+        }
+        empties = java.util.Arrays.copyOf(cells, count);
+    }
+
+    // Incremental win detection: play and take back every empty cell for both players
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public int winDetection() {
+        int wins = 0;
+        for (int player = BitBoard.X; player <= BitBoard.O; player++) {
+            for (int pos : empties) {
+                if (position.play(player, pos) != -1) {
+                    wins++;
+                }
+                position.undo(player, pos);
+            }
+        }
+        return wins;
+    }
+
+    @Benchmark
+    public boolean winnableCheck() {
+        return position.getCounters().isWinnable();
+    }
+
+    @Benchmark
+    public Position copyPosition() {
+        return position.copy();
+    }
+}
@@ -0,0 +1,107 @@
+package com.tictactoe.bench;
+
+import com.tictactoe.ai.HeuristicStrategy;
+import com.tictactoe.model.GameConfig;
+import com.tictactoe.model.GameState;
+import com.tictactoe.service.GameMetrics;
+import com.tictactoe.service.GameRegistry;
+import com.tictactoe.service.GameService;
+import com.tictactoe.service.MoveLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameServiceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Fixture {
+        @Param({"3:3", "4:4", "5:4", "7:4", "7:5", "10:4", "10:5", "15:5", "19:5"})
+        public String config;
+
+        GameRegistry registry;
+        GameService service;
+        GameConfig gameConfig;
+        int[] seededGame;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            int[] sizes = SeededPositions.parseConfig(config);
+            registry = new GameRegistry(30, 1_000);
+            service = new GameService(registry, List.of(new HeuristicStrategy()),
+                new GameMetrics(new SimpleMeterRegistry(), false), MoveLog.disabled(), 10_000, 10_000);
+            gameConfig = new GameConfig();
+            gameConfig.setBoardSize(sizes[0]);
+            gameConfig.setWinLength(sizes[1]);
+            gameConfig.setHumanPlayers(humanPlayers());
+            // Every game replays the same AI choices
+            gameConfig.setSeed(SeededPositions.SEED);
+            seededGame = SeededPositions.game(sizes[0], sizes[1], SeededPositions.SEED);
+        }
+
+        int humanPlayers() {
+            return 2;
+        }
+    }
+
+    // Self-contained rather than injected: JMH would give an injected Fixture its own instance
+    @State(Scope.Thread)
+    public static class AIMoveState extends Fixture {
+        // Fresh games per iteration, each taking one AI move; below the registry cap
+        static final int GAMES = 512;
+
+        final String[] gameIds = new String[GAMES];
+
+        // Both sides played by the AI; the seeded moves go through makeMove all the same
+        @Override
+        int humanPlayers() {
+            return 0;
+        }
+
+        // Sets up GAMES copies of the seeded midgame before each iteration, outside the timing
+        @Setup(Level.Iteration)
+        public void newGames() {
+            for (int g = 0; g < GAMES; g++) {
+                if (gameIds[g] != null) {
+                    registry.remove(gameIds[g]);
+                }
+                gameIds[g] = service.newGame(gameConfig).getGameId();
+                // Half of the seeded game, after which the AI moves
+                for (int i = 0; i < seededGame.length / 2; i++) {
+                    service.makeMove(gameIds[g], seededGame[i]);
+                }
+            }
+        }
+    }
+
+    // One full game of human moves from a fixed seed: makeMove plus win detection per ply
+    @Benchmark
+    public GameState replaySeededGame(Fixture fixture) {
+        GameState state = fixture.service.newGame(fixture.gameConfig);
+        for (int move : fixture.seededGame) {
+            state = fixture.service.makeMove(state.getGameId(), move);
+        }
+        fixture.registry.remove(state.getGameId());
+        return state;
+    }
+
+    // One AI move in each of the iteration's fresh games, timed as a single shot and
+    // reported per move
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 20)
+    @OperationsPerInvocation(AIMoveState.GAMES)
+    public void makeAIMove(AIMoveState ai, Blackhole blackhole) {
+        for (String gameId : ai.gameIds) {
+            blackhole.consume(ai.service.makeAIMove(gameId));
+        }
+    }
+}
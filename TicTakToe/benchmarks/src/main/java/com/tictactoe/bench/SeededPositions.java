@@ -0,0 +1,59 @@
+package com.tictactoe.bench;
+
+import com.tictactoe.engine.BitBoard;
+import com.tictactoe.engine.PatternTable;
+import com.tictactoe.engine.Position;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Reproducible boards and move sequences, fully determined by their seed
+public final class SeededPositions {
+    public static final long SEED = 20240611L;
+
+    private SeededPositions() {}
+
+    // "10:5" -> {10, 5}
+    public static int[] parseConfig(String config) {
+        String[] parts = config.split(":");
+        return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+    }
+
+    // A random game in progress with about fill * cells stones and nobody having won yet
+    public static Position midgame(int boardSize, int winLength, double fill, long seed) {
+        int[] moves = game(boardSize, winLength, seed);
+        int stones = Math.min((int) (boardSize * boardSize * fill), moves.length - 1);
+        Position position = new Position(PatternTable.of(boardSize, winLength), new BitBoard(boardSize * boardSize));
+        for (int i = 0; i < stones; i++) {
+            position.play(i & 1, moves[i]);
+        }
+        return position;
+    }
+
+    // Random legal moves, X first, until someone wins or the board is dead or full
+    public static int[] game(int boardSize, int winLength, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int cells = boardSize * boardSize;
+        int[] order = new int[cells];
+        for (int i = 0; i < cells; i++) {
+            order[i] = i;
+        }
+        for (int i = cells - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+
+        Position position = new Position(PatternTable.of(boardSize, winLength), new BitBoard(cells));
+        int played = 0;
+        while (played < cells) {
+            boolean over = position.play(played & 1, order[played]) != -1;
+            played++;
+            if (over || !position.getCounters().isWinnable()) {
+                break;
+            }
+        }
+        return Arrays.copyOf(order, played);
+    }
+}
@@ -1,4 +1,4 @@
-import React, { useState, useEffect, useCallback } from 'react';
+import React, { useState, useEffect, useCallback, useRef } from 'react';
 import Board from './components/Board';
 import AgentCard from './components/AgentCard';
 import GameLog from './components/GameLog';
@@ -12,27 +12,21 @@ function App() {
   const [config, setConfig] = useState({
     boardSize: 3,
     winLength: 3,
-    humanPlayers: 0
+    humanPlayers: 0,
+    aiStrategy: 'heuristic'
   });
   const [speed, setSpeed] = useState(800);
   const [logs, setLogs] = useState([]);
   const [isPlaying, setIsPlaying] = useState(false);
+  const streamRef = useRef(null);
+  const gameStateRef = useRef(null);
+
+  useEffect(() => () => streamRef.current?.close(), []);
 
   const addLog = useCallback((message, type = '') => {
     setLogs(prev => [{ message, type, id: Date.now() }, ...prev]);
   }, []);
 
-  const fetchGameState = async () => {
-    try {
-      const response = await fetch(`${API_BASE}/state`);
-      const data = await response.json();
-      setGameState(data);
-      return data;
-    } catch (error) {
-      console.error('Error fetching game state:', error);
-    }
-  };
-
   const startNewGame = async () => {
     try {
       setIsPlaying(true);
@@ -43,22 +37,65 @@ function App() {
         body: JSON.stringify(config)
       });
       const data = await response.json();
+      gameStateRef.current = data;
       setGameState(data);
       addLog(`--- New Game (${config.boardSize}x${config.boardSize}, ${config.winLength} to win) ---`);
-      
-      // If it's AI's turn, make AI move
-      if (data && !data.gameOver) {
-        const currentPlayerConfig = data.currentPlayer === 'X' ? data.playerX : data.playerO;
-        if (!currentPlayerConfig.human) {
-          setTimeout(() => makeAIMove(), speed / 2);
-        }
-      }
+
+      // The server plays AI turns and pushes every move over the stream
+      openStream(data.gameId);
     } catch (error) {
       console.error('Error starting new game:', error);
       setIsPlaying(false);
     }
   };
 
+  const openStream = (gameId) => {
+    if (streamRef.current) {
+      streamRef.current.close();
+    }
+    const stream = new EventSource(`${API_BASE}/${gameId}/stream?aiDelayMs=${speed}`);
+    stream.addEventListener('state', (event) => {
+      const data = JSON.parse(event.data);
+      gameStateRef.current = data;
+      setGameState(data);
+    });
+    stream.addEventListener('move', (event) => applyMove(JSON.parse(event.data)));
+    streamRef.current = stream;
+  };
+
+  const applyMove = (delta) => {
+    const prev = gameStateRef.current;
+    if (!prev || delta.version <= prev.version) return;
+
+    const board = [...prev.board];
+    board[delta.position] = delta.player;
+    const next = {
+      ...prev,
+      version: delta.version,
+      board,
+      currentPlayer: delta.currentPlayer,
+      status: delta.status,
+      gameOver: delta.gameOver,
+      winner: delta.winner,
+      winningPattern: delta.winningPattern ? delta.winningPattern.map(cell => [cell]) : null,
+      lastThoughts: delta.thoughts || prev.lastThoughts
+    };
+    gameStateRef.current = next;
+    setGameState(next);
+
+    const playerConfig = delta.player === 'X' ? prev.playerX : prev.playerO;
+    const posName = getPositionName(delta.position, prev.boardSize);
+    const reason = delta.thoughts ? ` (${delta.thoughts.reason})` : '';
+    addLog(`${playerConfig.name} (${delta.player}) → ${posName}${reason}`,
+           delta.player === 'X' ? 'x-move' : 'o-move');
+
+    if (delta.gameOver) {
+      handleGameEnd(delta);
+      streamRef.current.close();
+      streamRef.current = null;
+    }
+  };
+
   const makeMove = async (position) => {
     if (!gameState || gameState.gameOver) return;
     
@@ -66,63 +103,17 @@ function App() {
     if (!currentPlayerConfig.human) return;
 
     try {
-      const response = await fetch(`${API_BASE}/move`, {
+      // The move comes back as a stream event
+      await fetch(`${API_BASE}/${gameState.gameId}/move`, {
         method: 'POST',
         headers: { 'Content-Type': 'application/json' },
         body: JSON.stringify({ position })
       });
-      const data = await response.json();
-      setGameState(data);
-      
-      const playerName = currentPlayerConfig.name;
-      const posName = getPositionName(position, config.boardSize);
-      addLog(`${playerName} (${gameState.currentPlayer}) → ${posName}`, 
-             gameState.currentPlayer === 'X' ? 'x-move' : 'o-move');
-
-      if (data.gameOver) {
-        handleGameEnd(data);
-      } else {
-        // If next player is AI, make AI move
-        const nextPlayerConfig = data.currentPlayer === 'X' ? data.playerX : data.playerO;
-        if (!nextPlayerConfig.human) {
-          setTimeout(() => makeAIMove(), speed / 2);
-        }
-      }
     } catch (error) {
       console.error('Error making move:', error);
     }
   };
 
-  const makeAIMove = async () => {
-    try {
-      const response = await fetch(`${API_BASE}/ai-move`, {
-        method: 'POST'
-      });
-      const data = await response.json();
-      setGameState(data);
-
-      if (data.lastThoughts) {
-        const playerConfig = data.currentPlayer === 'X' ? data.playerO : data.playerX;
-        const prevPlayer = data.currentPlayer === 'X' ? 'O' : 'X';
-        const posName = getPositionName(data.lastThoughts.chosenMove, config.boardSize);
-        addLog(`${playerConfig.name} (${prevPlayer}) → ${posName} (${data.lastThoughts.reason})`,
-               prevPlayer === 'X' ? 'x-move' : 'o-move');
-      }
-
-      if (data.gameOver) {
-        handleGameEnd(data);
-      } else {
-        // If next player is also AI, continue
-        const nextPlayerConfig = data.currentPlayer === 'X' ? data.playerX : data.playerO;
-        if (!nextPlayerConfig.human) {
-          setTimeout(() => makeAIMove(), speed);
-        }
-      }
-    } catch (error) {
-      console.error('Error making AI move:', error);
-    }
-  };
-
   const handleGameEnd = (data) => {
     if (data.winner) {
       addLog(`🏆 ${data.status}`, 'result');
@@ -154,10 +145,6 @@ function App() {
     return `${currentConfig?.name} is thinking...`;
   };
 
-  useEffect(() => {
-    fetchGameState();
-  }, []);
-
   // Reset board preview when config changes (before game starts)
   useEffect(() => {
     if (!isPlaying) {
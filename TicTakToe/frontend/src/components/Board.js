@@ -12,7 +12,8 @@ function Board({ board, boardSize, onCellClick, winningPattern, isClickable, cur
     : Array(boardSize * boardSize).fill('');
   
   const displaySize = board.length > 0 ? gridSize : boardSize;
-  const fontSize = Math.max(1.2, 3.5 - (displaySize - 3) * 0.4);
+  const fontSize = Math.max(0.7, 3.5 - (displaySize - 3) * 0.4);
+  const gap = displaySize > 10 ? 2 : 6;
   
   const isWinningCell = (index) => {
     if (!winningPattern) return false;
@@ -23,7 +24,7 @@ function Board({ board, boardSize, onCellClick, winningPattern, isClickable, cur
     <div className="board-container">
       <div 
         className="board" 
-        style={{ gridTemplateColumns: `repeat(${displaySize}, 1fr)` }}
+        style={{ gridTemplateColumns: `repeat(${displaySize}, 1fr)`, gap: `${gap}px` }}
       >
         {cells.map((cell, index) => (
           <div
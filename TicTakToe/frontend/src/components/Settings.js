@@ -19,6 +19,13 @@ function Settings({ config, setConfig, speed, setSpeed, disabled }) {
     }));
   };
 
+  const handleAiStrategyChange = (e) => {
+    setConfig(prev => ({
+      ...prev,
+      aiStrategy: e.target.value
+    }));
+  };
+
   const handleHumanPlayersChange = (e) => {
     setConfig(prev => ({
       ...prev,
@@ -48,7 +55,7 @@ function Settings({ config, setConfig, speed, setSpeed, disabled }) {
           type="number" 
           id="board-size" 
           min="3" 
-          max="10" 
+          max="19" 
           value={config.boardSize}
           onChange={handleBoardSizeChange}
           disabled={disabled}
@@ -68,6 +75,19 @@ function Settings({ config, setConfig, speed, setSpeed, disabled }) {
         />
       </div>
       
+      <div className="setting-group">
+        <label htmlFor="ai-strategy">AI Engine:</label>
+        <select 
+          id="ai-strategy" 
+          value={config.aiStrategy}
+          onChange={handleAiStrategyChange}
+          disabled={disabled}
+        >
+          <option value="heuristic">Heuristic</option>
+          <option value="search">Search (alpha-beta)</option>
+        </select>
+      </div>
+
       <div className="setting-group">
         <label htmlFor="speed">AI Speed:</label>
         <select 
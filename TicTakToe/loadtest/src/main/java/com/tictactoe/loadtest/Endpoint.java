@@ -0,0 +1,24 @@
+package com.tictactoe.loadtest;
+
+// The GameController calls the load test makes, named as in the report
+enum Endpoint {
+    NEW("new"),
+    MOVE("move"),
+    AI_MOVE("ai-move"),
+    STATE("state");
+
+    final String label;
+
+    Endpoint(String label) {
+        this.label = label;
+    }
+
+    static Endpoint of(String label) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.label.equals(label)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + label);
+    }
+}
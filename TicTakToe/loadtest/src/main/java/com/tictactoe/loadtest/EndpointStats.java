@@ -0,0 +1,35 @@
+package com.tictactoe.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+// Latencies of the successful calls to one endpoint, in microseconds, plus failures by status.
+// Each worker keeps its own and they are merged at the end, so recording never contends.
+final class EndpointStats {
+    private final Histogram latency = new Histogram(3);
+    // Status 0 stands for a call that failed without a response
+    private final Map<Integer, Long> errorsByStatus = new TreeMap<>();
+    private long errors;
+
+    void record(long micros, int status) {
+        if (status / 100 == 2) {
+            latency.recordValue(Math.max(1, micros));
+        } else {
+            errors++;
+            errorsByStatus.merge(status, 1L, Long::sum);
+        }
+    }
+
+    void add(EndpointStats other) {
+        latency.add(other.latency);
+        errors += other.errors;
+        other.errorsByStatus.forEach((status, count) -> errorsByStatus.merge(status, count, Long::sum));
+    }
+
+    Histogram latency() { return latency; }
+    long successes() { return latency.getTotalCount(); }
+    long errors() { return errors; }
+    Map<Integer, Long> errorsByStatus() { return errorsByStatus; }
+}
@@ -0,0 +1,88 @@
+package com.tictactoe.loadtest;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// Command line options, each given as --name=value
+final class LoadTestConfig {
+    static final String USAGE = String.join("\n",
+        "Usage: java -jar loadtest.jar [--name=value ...]",
+        "  --url=http://localhost:8000   backend to load",
+        "  --games=32                    concurrent games, one client thread each",
+        "  --warmup=10                   seconds before latencies are recorded",
+        "  --duration=60                 seconds of recorded load",
+        "  --boards=3:3,10:5,15:5        boardSize:winLength choices, picked at random per game",
+        "  --strategy=heuristic          aiStrategy of the games",
+        "  --ai-time-ms=0                timeMs for each /ai-move; 0 keeps the game's budget",
+        "  --thoughts=                   thoughts verbosity of the games; empty keeps the default",
+        "  --state-polls=1               GET /state calls before every move",
+        "  --seed=1                      seed for the moves the clients pick",
+        "  --slo=ai-move:250,state:10    p99 limits in ms; the exit code is 1 when one is missed",
+        "  --out=                        report file; empty writes the report to stdout");
+
+    String url = "http://localhost:8000";
+    int games = 32;
+    int warmupSeconds = 10;
+    int durationSeconds = 60;
+    List<int[]> boards = parseBoards("3:3,10:5,15:5");
+    String strategy = "heuristic";
+    long aiTimeMs;
+    String thoughts;
+    int statePolls = 1;
+    long seed = 1;
+    Map<Endpoint, Double> sloP99Ms = new EnumMap<>(Endpoint.class);
+    String out;
+
+    static LoadTestConfig parse(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq == -1) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            String name = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (name) {
+                case "url": config.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value; break;
+                case "games": config.games = Math.max(1, Integer.parseInt(value)); break;
+                case "warmup": config.warmupSeconds = Math.max(0, Integer.parseInt(value)); break;
+                case "duration": config.durationSeconds = Math.max(1, Integer.parseInt(value)); break;
+                case "boards": config.boards = parseBoards(value); break;
+                case "strategy": config.strategy = value; break;
+                case "ai-time-ms": config.aiTimeMs = Math.max(0, Long.parseLong(value)); break;
+                case "thoughts": config.thoughts = value.isEmpty() ? null : value; break;
+                case "state-polls": config.statePolls = Math.max(0, Integer.parseInt(value)); break;
+                case "seed": config.seed = Long.parseLong(value); break;
+                case "slo": config.sloP99Ms = parseSlo(value); break;
+                case "out": config.out = value.isEmpty() ? null : value; break;
+                default: throw new IllegalArgumentException("Unknown option: --" + name);
+            }
+        }
+        return config;
+    }
+
+    private static List<int[]> parseBoards(String value) {
+        List<int[]> boards = new ArrayList<>();
+        for (String spec : value.split(",")) {
+            String[] parts = spec.trim().split(":");
+            boards.add(new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])});
+        }
+        if (boards.isEmpty()) {
+            throw new IllegalArgumentException("No boards given");
+        }
+        return boards;
+    }
+
+    private static Map<Endpoint, Double> parseSlo(String value) {
+        Map<Endpoint, Double> slo = new EnumMap<>(Endpoint.class);
+        if (!value.isEmpty()) {
+            for (String spec : value.split(",")) {
+                String[] parts = spec.trim().split(":");
+                slo.put(Endpoint.of(parts[0]), Double.parseDouble(parts[1]));
+            }
+        }
+        return slo;
+    }
+}
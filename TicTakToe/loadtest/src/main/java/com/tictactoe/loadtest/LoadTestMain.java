@@ -0,0 +1,163 @@
+package com.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator for a running backend. Plays --games concurrent games across the given
+ * board sizes for --warmup plus --duration seconds and writes a JSON report with throughput
+ * and p50/p90/p99/p999 latency per endpoint. Latencies cover successful calls only; failures
+ * are counted by status (0 when there was no response, 503 when the AI pool was busy).
+ *
+ * Usage: see LoadTestConfig.USAGE
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) throws Exception {
+        if (Arrays.asList(args).contains("--help")) {
+            System.out.println(LoadTestConfig.USAGE);
+            return;
+        }
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(LoadTestConfig.USAGE);
+            System.exit(2);
+            return;
+        }
+        HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+        ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        // Fail fast when nothing is listening; an unknown game answers 404
+        try {
+            client.send(HttpRequest.newBuilder(URI.create(config.url + "/api/game/load-test/state")).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            System.err.println("Backend not reachable at " + config.url + ": " + e);
+            System.exit(2);
+            return;
+        }
+
+        long start = System.nanoTime();
+        long recordFrom = start + TimeUnit.SECONDS.toNanos(config.warmupSeconds);
+        long recordUntil = recordFrom + TimeUnit.SECONDS.toNanos(config.durationSeconds);
+        SplittableRandom seeds = new SplittableRandom(config.seed);
+        List<VirtualGame> games = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < config.games; i++) {
+            VirtualGame game = new VirtualGame(config, client, mapper, seeds.split(), recordFrom, recordUntil);
+            Thread thread = new Thread(game, "game-" + i);
+            thread.setDaemon(true);
+            games.add(game);
+            threads.add(thread);
+            thread.start();
+        }
+        System.err.printf("Running %d games against %s: %d s warmup, %d s recorded%n",
+            config.games, config.url, config.warmupSeconds, config.durationSeconds);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Map<Endpoint, EndpointStats> totals = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            EndpointStats merged = new EndpointStats();
+            games.forEach(game -> merged.add(game.stats().get(endpoint)));
+            totals.put(endpoint, merged);
+        }
+        ObjectNode report = report(config, totals, mapper);
+        if (config.out != null) {
+            mapper.writeValue(new File(config.out), report);
+            System.err.println("Report written to " + config.out);
+        } else {
+            System.out.println(mapper.writeValueAsString(report));
+        }
+        System.exit(report.get("sloBreaches").size() > 0 ? 1 : 0);
+    }
+
+    private static ObjectNode report(LoadTestConfig config, Map<Endpoint, EndpointStats> totals, ObjectMapper mapper) {
+        ObjectNode report = mapper.createObjectNode();
+        ObjectNode settings = report.putObject("config");
+        settings.put("url", config.url);
+        settings.put("games", config.games);
+        settings.put("warmupSeconds", config.warmupSeconds);
+        settings.put("durationSeconds", config.durationSeconds);
+        ArrayNode boards = settings.putArray("boards");
+        config.boards.forEach(board -> boards.add(board[0] + ":" + board[1]));
+        settings.put("strategy", config.strategy);
+        settings.put("aiTimeMs", config.aiTimeMs);
+        settings.put("thoughts", config.thoughts);
+        settings.put("statePolls", config.statePolls);
+        settings.put("seed", config.seed);
+
+        double seconds = config.durationSeconds;
+        long requests = 0;
+        long errors = 0;
+        ObjectNode endpoints = report.putObject("endpoints");
+        ArrayNode breaches = mapper.createArrayNode();
+        for (Map.Entry<Endpoint, EndpointStats> entry : totals.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Histogram latency = stats.latency();
+            long calls = stats.successes() + stats.errors();
+            requests += calls;
+            errors += stats.errors();
+
+            ObjectNode node = endpoints.putObject(entry.getKey().label);
+            node.put("requests", calls);
+            node.put("errors", stats.errors());
+            ObjectNode byStatus = node.putObject("errorsByStatus");
+            stats.errorsByStatus().forEach((status, count) -> byStatus.put(Integer.toString(status), count));
+            node.put("throughput", round(calls / seconds));
+            ObjectNode ms = node.putObject("latencyMs");
+            ms.put("mean", round(latency.getMean() / 1000));
+            ms.put("p50", millis(latency, 50));
+            ms.put("p90", millis(latency, 90));
+            ms.put("p99", millis(latency, 99));
+            ms.put("p999", millis(latency, 99.9));
+            ms.put("max", round(latency.getMaxValue() / 1000.0));
+
+            Double limit = config.sloP99Ms.get(entry.getKey());
+            if (limit != null && millis(latency, 99) > limit) {
+                breaches.addObject()
+                    .put("endpoint", entry.getKey().label)
+                    .put("p99Ms", millis(latency, 99))
+                    .put("limitMs", limit);
+            }
+        }
+        report.put("requests", requests);
+        report.put("errors", errors);
+        report.put("throughput", round(requests / seconds));
+        report.set("sloBreaches", breaches);
+        return report;
+    }
+
+    private static double millis(Histogram latency, double percentile) {
+        return latency.getTotalCount() == 0 ? 0 : round(latency.getValueAtPercentile(percentile) / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+}
@@ -0,0 +1,182 @@
+package com.tictactoe.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One client playing games back to back against the server, the way the frontend does:
+ * polls /state, posts its own moves to /move and asks for the AI's with /ai-move. The
+ * human side plays random empty cells. Calls are timed only when they start inside the
+ * recorded window.
+ */
+final class VirtualGame implements Runnable {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(60);
+    // Pause after a failed call, so a busy AI pool or a down server is not hammered
+    private static final long BACKOFF_MS = 20;
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final ObjectMapper mapper;
+    private final SplittableRandom random;
+    private final long recordFrom;
+    private final long recordUntil;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    private String gameId;
+    private boolean[] occupied;
+    private String human;
+    private String currentPlayer;
+    private boolean gameOver;
+
+    VirtualGame(LoadTestConfig config, HttpClient client, ObjectMapper mapper, SplittableRandom random,
+                long recordFrom, long recordUntil) {
+        this.config = config;
+        this.client = client;
+        this.mapper = mapper;
+        this.random = random;
+        this.recordFrom = recordFrom;
+        this.recordUntil = recordUntil;
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    Map<Endpoint, EndpointStats> stats() { return stats; }
+
+    @Override
+    public void run() {
+        try {
+            while (running()) {
+                playGame();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean running() {
+        return System.nanoTime() - recordUntil < 0;
+    }
+
+    private void playGame() throws InterruptedException {
+        int[] board = config.boards.get(random.nextInt(config.boards.size()));
+        ObjectNode body = mapper.createObjectNode()
+            .put("boardSize", board[0])
+            .put("winLength", board[1])
+            .put("humanPlayers", 1)
+            .put("aiStrategy", config.strategy);
+        if (config.thoughts != null) {
+            body.put("thoughts", config.thoughts);
+        }
+        JsonNode state = call(Endpoint.NEW, post("/new", body));
+        if (state == null) {
+            Thread.sleep(BACKOFF_MS);
+            return;
+        }
+        gameId = state.get("gameId").asText();
+        occupied = new boolean[board[0] * board[0]];
+        human = state.get("playerX").get("human").asBoolean() ? "X" : "O";
+        currentPlayer = state.get("currentPlayer").asText();
+        gameOver = state.get("gameOver").asBoolean();
+
+        while (!gameOver && running()) {
+            for (int i = 0; i < config.statePolls; i++) {
+                call(Endpoint.STATE, get("/" + gameId + "/state"));
+            }
+            JsonNode delta = human.equals(currentPlayer)
+                ? call(Endpoint.MOVE, post("/" + gameId + "/move?view=delta",
+                    mapper.createObjectNode().put("position", randomEmptyCell())))
+                : call(Endpoint.AI_MOVE, post("/" + gameId + "/ai-move?view=delta"
+                    + (config.aiTimeMs > 0 ? "&timeMs=" + config.aiTimeMs : ""), mapper.createObjectNode()));
+            if (delta == null) {
+                Thread.sleep(BACKOFF_MS);
+            } else if ("move".equals(delta.get("type").asText())) {
+                occupied[delta.get("position").asInt()] = true;
+                currentPlayer = delta.get("currentPlayer").asText();
+                gameOver = delta.get("gameOver").asBoolean();
+            } else if (!resync()) {
+                return;
+            }
+        }
+    }
+
+    // Reloads the board after a move the server did not take; false when the game is gone
+    private boolean resync() throws InterruptedException {
+        JsonNode state = call(Endpoint.STATE, get("/" + gameId + "/state"));
+        if (state == null) {
+            return false;
+        }
+        JsonNode cells = state.get("board");
+        for (int pos = 0; pos < occupied.length; pos++) {
+            occupied[pos] = !cells.get(pos).asText().isEmpty();
+        }
+        currentPlayer = state.get("currentPlayer").asText();
+        gameOver = state.get("gameOver").asBoolean();
+        return true;
+    }
+
+    private int randomEmptyCell() {
+        int start = random.nextInt(occupied.length);
+        for (int i = 0; i < occupied.length; i++) {
+            int pos = (start + i) % occupied.length;
+            if (!occupied[pos]) {
+                return pos;
+            }
+        }
+        return start;
+    }
+
+    // The parsed body of a 2xx answer, or null. Only the exchange is timed, not the parsing.
+    private JsonNode call(Endpoint endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<byte[]> response = null;
+        try {
+            response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            // Counted under status 0
+        }
+        int status = response != null ? response.statusCode() : 0;
+        if (start - recordFrom >= 0 && start - recordUntil < 0) {
+            stats.get(endpoint).record((System.nanoTime() - start) / 1000, status);
+        }
+        if (status / 100 != 2) {
+            return null;
+        }
+        try {
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(REQUEST_TIMEOUT).GET().build();
+    }
+
+    private HttpRequest post(String path, JsonNode body) {
+        try {
+            return HttpRequest.newBuilder(uri(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(body)))
+                .build();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private URI uri(String path) {
+        return URI.create(config.url + "/api/game" + path);
+    }
+}